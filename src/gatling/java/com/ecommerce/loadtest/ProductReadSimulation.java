@@ -0,0 +1,64 @@
+package com.ecommerce.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Carga de lectura sobre el catálogo: búsqueda por cursor y consulta por ID
+ *
+ * Modelo cerrado con gatling.users usuarios concurrentes sin pausas durante gatling.duration segundos,
+ * de modo que las peticiones en curso superan con holgura el pool de Hikari y los hilos de Tomcat.
+ * Se ejecuta igual contra la instancia con y sin el perfil virtual-threads para comparar.
+ */
+public class ProductReadSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("gatling.baseUrl", "http://localhost:8080/api/v1");
+    private static final int USERS = Integer.getInteger("gatling.users", 2000);
+    private static final int DURATION_SECONDS = Integer.getInteger("gatling.duration", 60);
+    private static final int MIN_PRODUCT_ID = Integer.getInteger("gatling.minProductId", 1);
+    private static final int MAX_PRODUCT_ID = Integer.getInteger("gatling.maxProductId", 100000);
+
+    private static final String[] BRANDS = {"Samsung", "Apple", "Lenovo", "Sony", "Xiaomi", "LG", "HP", "Asus"};
+
+    private final Iterator<Map<String, Object>> requests = Stream.generate(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int minPrice = random.nextInt(0, 4_000_000);
+        return Map.<String, Object>of(
+                "productId", random.nextInt(MIN_PRODUCT_ID, MAX_PRODUCT_ID + 1),
+                "brand", BRANDS[random.nextInt(BRANDS.length)],
+                "minPrice", minPrice,
+                "maxPrice", minPrice + 500_000);
+    }).iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json")
+            .shareConnections();
+
+    private final ScenarioBuilder readCatalog = scenario("Lectura del catálogo")
+            .feed(requests)
+            .exec(http("search")
+                    .post("/products/search")
+                    .body(StringBody("{\"brand\":\"#{brand}\",\"minPrice\":#{minPrice},\"maxPrice\":#{maxPrice},"
+                            + "\"paginationMode\":\"cursor\",\"size\":20}"))
+                    .check(status().is(200)))
+            .exec(http("get by id")
+                    .get("/products/#{productId}")
+                    .check(status().in(200, 404)));
+
+    {
+        setUp(readCatalog.injectClosed(constantConcurrentUsers(USERS).during(Duration.ofSeconds(DURATION_SECONDS))))
+                .protocols(httpProtocol);
+    }
+}
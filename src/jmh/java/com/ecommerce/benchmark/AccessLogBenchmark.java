@@ -0,0 +1,139 @@
+package com.ecommerce.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.ecommerce.config.AccessLogEntry;
+import com.ecommerce.config.AccessLogWriter;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de registro por petición
+ *
+ * - perCallInfoLogging: antes, dos log.info síncronos al archivo (controlador y servicio)
+ * - accessLog: ahora, los mismos logs en DEBUG (desactivados) y un registro encolado en AccessLogWriter;
+ *   mide solo el hilo de la petición (con el buffer lleno el registro se descarta)
+ * - accessLogSustained: igual, pero reintenta hasta que el registro entra al buffer; mide lo que
+ *   el hilo escritor puede sostener sin descartar
+ * accessLog alterna entre encolar y descartar según le toque CPU al hilo escritor, por eso su ops/ms
+ * varía mucho entre iteraciones: los contadores auxiliares enqueued/dropped (y retries en
+ * accessLogSustained) muestran qué parte de las operaciones llegó al archivo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(2)
+public class AccessLogBenchmark {
+
+    private static final String FILE_PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%X{requestId:-}] - %msg%n";
+
+    private Path directory;
+    private Logger logger;
+    private FileAppender<ILoggingEvent> appender;
+    private AccessLogWriter accessLogWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("access-log-benchmark");
+
+        // Mismo patrón y appender de archivo síncrono que usa Spring Boot con logging.file.name
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(FILE_PATTERN);
+        encoder.start();
+        appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(directory.resolve("ecommerce-api.log").toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        logger = context.getLogger("com.ecommerce.benchmark");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+
+        accessLogWriter = new AccessLogWriter(directory.resolve("ecommerce-access.log"), 8192, 512);
+        MDC.put("requestId", "c0cac712-8aa4-1e80-a799-934b3c225f1b");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        accessLogWriter.close();
+        appender.stop();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void perCallInfoLogging() {
+        long id = 51;
+        logger.info("REST: Obteniendo producto con ID: {}", id);
+        logger.info("Obteniendo producto con ID: {}", id);
+    }
+
+    @Benchmark
+    public void accessLog(AppendCounters counters) {
+        long id = 51;
+        logger.debug("REST: Obteniendo producto con ID: {}", id);
+        logger.debug("Obteniendo producto con ID: {}", id);
+        if (accessLogWriter.append(entry())) {
+            counters.enqueued++;
+        } else {
+            counters.dropped++;
+        }
+    }
+
+    @Benchmark
+    public void accessLogSustained(AppendCounters counters) {
+        long id = 51;
+        logger.debug("REST: Obteniendo producto con ID: {}", id);
+        logger.debug("Obteniendo producto con ID: {}", id);
+        AccessLogEntry entry = entry();
+        while (!accessLogWriter.append(entry)) {
+            counters.retries++;
+            Thread.yield();
+        }
+        counters.enqueued++;
+    }
+
+    /**
+     * Resultado de cada append, reportado por JMH como métricas secundarias (ops/ms)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class AppendCounters {
+
+        public long enqueued;
+        public long dropped;
+        public long retries;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void reset() {
+            enqueued = 0;
+            dropped = 0;
+            retries = 0;
+        }
+    }
+
+    private static AccessLogEntry entry() {
+        return new AccessLogEntry(Instant.now(), MDC.get("requestId"), "GET",
+                "/api/v1/products/51", null, 200, 1250, "127.0.0.1");
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.entity.Category;
+import com.ecommerce.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks
+ */
+final class BenchmarkData {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Dell", "Amazon"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Category> categories(int count) {
+        List<Category> categories = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            categories.add(Category.builder()
+                    .id(i)
+                    .name("Categoría " + i)
+                    .description("Descripción de la categoría " + i)
+                    .active(true)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        return categories;
+    }
+
+    static List<Product> products(int count, List<Category> categories) {
+        List<Product> products = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            Set<Category> productCategories = new HashSet<>();
+            productCategories.add(categories.get((int) (i % categories.size())));
+            productCategories.add(categories.get((int) ((i + 1) % categories.size())));
+
+            products.add(Product.builder()
+                    .id(i)
+                    .name("Producto " + i)
+                    .description("Descripción detallada del producto " + i + " con especificaciones técnicas")
+                    .price(new BigDecimal("1000000").add(BigDecimal.valueOf(i * 100)))
+                    .stock((int) (i % 200))
+                    .imageUrl("https://example.com/producto-" + i + ".jpg")
+                    .brand(BRANDS[(int) (i % BRANDS.length)])
+                    .model("Modelo " + (i % 300))
+                    .weight(new BigDecimal("0.500"))
+                    .dimensions("10 x 10 x 10 cm")
+                    .active(true)
+                    .featured(i % 50 == 0)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .categories(productCategories)
+                    .build());
+        }
+        return products;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.response.CategoryResponse;
+import com.ecommerce.dto.response.ProductResponse;
+import com.ecommerce.entity.Category;
+import com.ecommerce.entity.Product;
+import com.ecommerce.mapper.CategoryMapper;
+import com.ecommerce.mapper.CategoryMapperImpl;
+import com.ecommerce.mapper.ProductMapper;
+import com.ecommerce.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de mapeo entidad -> response con los mappers generados por MapStruct
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ProductMapper productMapper;
+    private CategoryMapper categoryMapper;
+    private List<Product> products;
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        categoryMapper = new CategoryMapperImpl();
+        ProductMapperImpl productMapperImpl = new ProductMapperImpl();
+        ReflectionTestUtils.setField(productMapperImpl, "categoryMapper", categoryMapper);
+        productMapper = productMapperImpl;
+
+        List<Category> categories = BenchmarkData.categories(6);
+        products = BenchmarkData.products(pageSize, categories);
+        category = categories.get(0);
+    }
+
+    @Benchmark
+    public ProductResponse productToResponse() {
+        return productMapper.toResponse(products.get(0));
+    }
+
+    @Benchmark
+    public List<ProductResponse> productToResponseList() {
+        return productMapper.toResponseList(products);
+    }
+
+    @Benchmark
+    public CategoryResponse categoryToResponse() {
+        return categoryMapper.toResponse(category);
+    }
+}
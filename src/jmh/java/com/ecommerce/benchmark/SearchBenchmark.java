@@ -0,0 +1,124 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.EcommerceApiApplication;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.command.ProductSearchCursor;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.response.ProductCursorPageResponse;
+import com.ecommerce.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductService.searchProducts contra H2 embebido con un catálogo sintético
+ * Compara la primera página, una página profunda por offset y la misma posición por cursor
+ * (OPTIMIZE_REUSE_RESULTS=FALSE evita que H2 devuelva el resultado cacheado de la consulta repetida)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private int deepPage;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EcommerceApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.ecommerce=WARN",
+                     "--spring.jpa.show-sql=false");
+        productService = context.getBean(ProductService.class);
+
+        seedCatalog(context.getBean(JdbcTemplate.class), catalogSize);
+
+        deepPage = (catalogSize / PAGE_SIZE) / 2;
+        Map<String, Object> pivot = context.getBean(JdbcTemplate.class).queryForMap(
+                "SELECT name, product_id FROM products WHERE active = true " +
+                "ORDER BY name, product_id LIMIT 1 OFFSET ?", deepPage * PAGE_SIZE - 1);
+        deepCursor = new ProductSearchCursor((String) pivot.get("NAME"),
+                ((Number) pivot.get("PRODUCT_ID")).longValue()).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductSearchProjection> searchByBrandFirstPage() {
+        ProductSearchCommand command = ProductSearchCommand.builder().brand("Apple").build();
+        return productService.searchProducts(command, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<ProductSearchProjection> searchByTextFirstPage() {
+        ProductSearchCommand command = ProductSearchCommand.builder().searchText("Modelo 42").build();
+        return productService.searchProducts(command, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<ProductSearchProjection> searchDeepOffsetPage() {
+        ProductSearchCommand command = ProductSearchCommand.builder().build();
+        return productService.searchProducts(command, PageRequest.of(deepPage, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ProductCursorPageResponse searchDeepCursorPage() {
+        ProductSearchCommand command = ProductSearchCommand.builder().build();
+        return productService.searchProductsByCursor(command, deepCursor, PAGE_SIZE, false);
+    }
+
+    /**
+     * Inserta el catálogo sintético directamente en H2 (las categorías 1..6 vienen del DataLoader)
+     * Los IDs se asignan a continuación del máximo actual; la secuencia de JPA no se usa en el benchmark
+     */
+    private static void seedCatalog(JdbcTemplate jdbcTemplate, int size) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(product_id), 0) FROM products", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO products (product_id, name, description, price, stock, image_url, brand, model,
+                                      weight, dimensions, active, featured, created_at, updated_at)
+                SELECT ? + X,
+                       'Producto ' || X,
+                       'Descripción detallada del producto ' || X,
+                       1000 + MOD(X, 5000) * 100,
+                       MOD(X, 200),
+                       'https://example.com/producto-' || X || '.jpg',
+                       CASEWHEN(MOD(X, 5) = 0, 'Apple', CASEWHEN(MOD(X, 5) = 1, 'Samsung', 'Sony')),
+                       'Modelo ' || MOD(X, 300),
+                       0.5,
+                       '10 x 10 x 10 cm',
+                       TRUE,
+                       MOD(X, 50) = 0,
+                       CURRENT_TIMESTAMP,
+                       CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, maxId, size);
+        jdbcTemplate.update("""
+                INSERT INTO product_categories (product_id, category_id)
+                SELECT p.product_id, 1 + MOD(p.product_id, 6)
+                FROM products p
+                WHERE NOT EXISTS (SELECT 1 FROM product_categories pc WHERE pc.product_id = p.product_id)
+                """);
+    }
+}
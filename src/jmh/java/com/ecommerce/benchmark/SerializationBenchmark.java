@@ -0,0 +1,77 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.entity.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de la respuesta de POST /products/search
+ * (Page de proyecciones, igual que la construye ProductSearchRepositoryImpl)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ProductSearchProjection> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        List<ProductSearchProjection> content = BenchmarkData.products(pageSize, BenchmarkData.categories(6)).stream()
+                .map(product -> projectionFactory.createProjection(ProductSearchProjection.class, toRow(product)))
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public String serializeSearchPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(page);
+    }
+
+    private static Map<String, Object> toRow(Product product) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", product.getId());
+        row.put("name", product.getName());
+        row.put("description", product.getDescription());
+        row.put("price", product.getPrice());
+        row.put("stock", product.getStock());
+        row.put("imageUrl", product.getImageUrl());
+        row.put("brand", product.getBrand());
+        row.put("model", product.getModel());
+        row.put("weight", product.getWeight());
+        row.put("dimensions", product.getDimensions());
+        row.put("active", product.getActive());
+        row.put("featured", product.getFeatured());
+        row.put("createdAt", product.getCreatedAt());
+        row.put("updatedAt", product.getUpdatedAt());
+        row.put("categoryNames", List.of("Categoría 1", "Categoría 2"));
+        row.put("categoryIds", List.of(1L, 2L));
+        return row;
+    }
+}
@@ -2,6 +2,8 @@ package com.ecommerce;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.Contact;
@@ -10,9 +12,10 @@ import io.swagger.v3.oas.annotations.info.License;
 /**
  * Aplicación principal del API de E-commerce
  * 
- * 
+ * R2DBC se configura solo con el perfil reactive (ReactiveReadConfig); su auto-configuración
+ * se excluye para que no exija spring.r2dbc.url ni reemplace al transaction manager de JPA.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 @OpenAPIDefinition(
     info = @Info(
         title = "E-commerce API",
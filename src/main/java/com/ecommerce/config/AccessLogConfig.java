@@ -0,0 +1,59 @@
+package com.ecommerce.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Log de acceso estructurado y asíncrono con ID de correlación por petición
+ *
+ * Reemplaza los logs INFO por llamada de controladores y servicios, que pasan a DEBUG.
+ * Se desactiva con ecommerce.access-log.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ecommerce.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public AccessLogWriter accessLogWriter(
+            @Value("${ecommerce.access-log.path:logs/ecommerce-access.log}") Path path,
+            @Value("${ecommerce.access-log.buffer-size:8192}") int bufferSize,
+            @Value("${ecommerce.access-log.batch-size:512}") int batchSize,
+            ObjectProvider<MeterRegistry> meterRegistry) throws IOException {
+        AccessLogWriter writer = new AccessLogWriter(path, bufferSize, batchSize);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder(MetricsConfig.ACCESS_LOG_ENTRIES, writer, AccessLogWriter::getWritten)
+                    .description("Registros del log de acceso escritos o descartados por buffer lleno")
+                    .tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder(MetricsConfig.ACCESS_LOG_ENTRIES, writer, AccessLogWriter::getDropped)
+                    .description("Registros del log de acceso escritos o descartados por buffer lleno")
+                    .tag("result", "dropped")
+                    .register(registry);
+        });
+        return writer;
+    }
+
+    /**
+     * Primer filtro de la cadena: el MDC queda disponible para todo lo que se ejecute después
+     */
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+            AccessLogWriter accessLogWriter,
+            @Value("${ecommerce.access-log.sample-rate:1.0}") double sampleRate,
+            @Value("${ecommerce.access-log.slow-threshold-ms:500}") long slowThresholdMs) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(accessLogWriter, sampleRate, slowThresholdMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.config;
+
+import java.time.Instant;
+
+/**
+ * Registro del log de acceso: una petición HTTP atendida
+ *
+ * @param durationMicros tiempo desde la entrada al filtro hasta el fin de la respuesta (incluye respuestas async)
+ */
+public record AccessLogEntry(Instant timestamp,
+                             String requestId,
+                             String method,
+                             String path,
+                             String query,
+                             int status,
+                             long durationMicros,
+                             String remoteAddress) {
+}
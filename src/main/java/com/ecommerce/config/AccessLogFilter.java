@@ -0,0 +1,107 @@
+package com.ecommerce.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Asigna un ID de correlación a cada petición y la registra en el log de acceso (AccessLogWriter)
+ *
+ * El ID se toma del encabezado X-Request-Id si es válido, se devuelve en la respuesta y queda
+ * en el MDC (requestId) para los logs de la aplicación durante la petición.
+ * Se registra una fracción sample-rate de las peticiones; los errores (status >= 400) y las
+ * peticiones más lentas que slow-threshold se registran siempre.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final AccessLogWriter writer;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(AccessLogWriter writer, double sampleRate, long slowThresholdMillis) {
+        this.writer = writer;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Instant timestamp = Instant.now();
+        long start = System.nanoTime();
+        String requestId = requestId(request);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        boolean failed = false;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            MDC.remove(REQUEST_ID_MDC_KEY);
+            if (request.isAsyncStarted()) {
+                // Respuestas en streaming: el status y la duración se conocen al completar la petición async
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, response.getStatus(), timestamp, start, requestId);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                // Una excepción sin manejar termina en 500 después de este filtro
+                record(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        timestamp, start, requestId);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, Instant timestamp, long start, String requestId) {
+        long elapsed = System.nanoTime() - start;
+        if (status < 400 && elapsed < slowThresholdNanos
+                && sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        writer.append(new AccessLogEntry(timestamp, requestId, request.getMethod(), request.getRequestURI(),
+                request.getQueryString(), status, TimeUnit.NANOSECONDS.toMicros(elapsed), request.getRemoteAddr()));
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String header = request.getHeader(REQUEST_ID_HEADER);
+        if (header != null && VALID_REQUEST_ID.matcher(header).matches()) {
+            return header;
+        }
+        // No necesita ser impredecible: ThreadLocalRandom evita la contención de SecureRandom en UUID.randomUUID
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
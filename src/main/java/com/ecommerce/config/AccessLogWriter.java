@@ -0,0 +1,134 @@
+package com.ecommerce.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log de acceso asíncrono en NDJSON (un objeto JSON por petición)
+ *
+ * Los hilos de las peticiones solo encolan el registro en un buffer circular acotado; nunca esperan
+ * por el disco. Si el buffer está lleno el registro se descarta y se cuenta (ecommerce.access-log.entries).
+ * Un único hilo serializa y escribe los registros por lotes, con un flush por lote y sin fsync.
+ */
+@Slf4j
+public final class AccessLogWriter implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Path file;
+    private final int batchSize;
+    private final BlockingQueue<AccessLogEntry> queue;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private final Writer out;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(Path file, int capacity, int batchSize) throws IOException {
+        this.file = file;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writerThread = new Thread(this::writeLoop, "access-log");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Encola un registro sin bloquear
+     *
+     * @return false si el buffer estaba lleno o el log cerrado (el registro se descarta)
+     */
+    public boolean append(AccessLogEntry entry) {
+        if (running && queue.offer(entry)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+    }
+
+    private void writeLoop() {
+        List<AccessLogEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AccessLogEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                written.addAndGet(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException | RuntimeException e) {
+                // El log de acceso no debe afectar a las peticiones: se descarta el lote y se sigue
+                log.warn("Error escribiendo el log de acceso {}, se descartan {} registros: {}", file, batch.size(), e.getMessage());
+                dropped.addAndGet(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AccessLogEntry> batch) throws IOException {
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            for (AccessLogEntry entry : batch) {
+                json.writeStartObject();
+                json.writeStringField("timestamp", entry.timestamp().toString());
+                json.writeStringField("requestId", entry.requestId());
+                json.writeStringField("method", entry.method());
+                json.writeStringField("path", entry.path());
+                if (entry.query() != null) {
+                    json.writeStringField("query", entry.query());
+                }
+                json.writeNumberField("status", entry.status());
+                json.writeNumberField("durationMs", entry.durationMicros() / 1000.0);
+                json.writeStringField("remoteAddress", entry.remoteAddress());
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.config;
+
+import com.ecommerce.dto.response.ProductResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de cachés en memoria con Caffeine
+ * 
+ * Cada caché se define con su propia especificación (tamaño máximo, TTL y recordStats).
+ * Las estadísticas se publican en Actuator como cache.gets (hit/miss), cache.puts y cache.evictions.
+ * El proxy transaccional aplica los put/evict después del commit, así una lectura concurrente
+ * no vuelve a poblar la caché con datos que aún no se han confirmado.
+ * La caché de productos es una VersionedCaffeineCache: una carga que empezó antes de ese commit
+ * y termina después de la invalidación no guarda la fila anterior.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    /**
+     * Caché de ProductResponse por ID de producto (GET /products/{id}), sin productCount en las categorías
+     */
+    public static final String PRODUCTS_CACHE = "products";
+    
+    /**
+     * Caché de productos activos por ID de categoría (productCount), se invalida al cambiar cada contador
+     */
+    public static final String CATEGORY_PRODUCT_COUNTS_CACHE = "categoryProductCounts";
+    
+    /**
+     * Caché de facetas por ProductSearchCommand (POST /products/search con includeFacets), TTL corto
+     */
+    public static final String PRODUCT_FACETS_CACHE = "productFacets";
+    
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${ecommerce.cache.products.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String productsSpec,
+            @Value("${ecommerce.cache.category-product-counts.spec:maximumSize=10000,expireAfterWrite=1m,recordStats}") String categoryProductCountsSpec,
+            @Value("${ecommerce.cache.product-facets.spec:maximumSize=1000,expireAfterWrite=30s,recordStats}") String productFacetsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                if (PRODUCTS_CACHE.equals(name)) {
+                    return new VersionedCaffeineCache(name, cache, value -> ((ProductResponse) value).getVersion());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.registerCustomCache(PRODUCTS_CACHE, Caffeine.from(productsSpec).build());
+        cacheManager.registerCustomCache(CATEGORY_PRODUCT_COUNTS_CACHE, Caffeine.from(categoryProductCountsSpec).build());
+        cacheManager.registerCustomCache(PRODUCT_FACETS_CACHE, Caffeine.from(productFacetsSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
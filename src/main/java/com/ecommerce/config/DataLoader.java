@@ -2,6 +2,7 @@ package com.ecommerce.config;
 
 import com.ecommerce.entity.*;
 import com.ecommerce.repository.*;
+import com.ecommerce.service.CategoryProductCountResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -23,6 +24,8 @@ public class DataLoader implements CommandLineRunner {
     
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final CategoryProductCountRepository categoryProductCountRepository;
+    private final CategoryProductCountResolver categoryProductCountResolver;
     
     @Override
     @Transactional
@@ -34,6 +37,11 @@ public class DataLoader implements CommandLineRunner {
         } else {
             log.info("Los datos iniciales ya existen, omitiendo carga");
         }
+        
+        // Contadores de productos por categoría: se calculan una vez y luego se mantienen de forma incremental
+        if (categoryProductCountRepository.count() == 0) {
+            categoryProductCountResolver.rebuild();
+        }
     }
     
     private void loadInitialData() {
@@ -0,0 +1,27 @@
+package com.ecommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor de la base de datos principal, deducido del dialecto de Hibernate configurado
+ *
+ * Lo usan las pocas sentencias nativas que no tienen una forma común en PostgreSQL y en H2
+ * (tests y perfil local), como INSERT ... ON CONFLICT. Sin dialecto se asume PostgreSQL.
+ */
+@Component
+public class DatabaseEngine {
+
+    private final boolean h2;
+
+    public DatabaseEngine(@Value("${spring.jpa.properties.hibernate.dialect:}") String dialect) {
+        this.h2 = dialect.contains("H2");
+    }
+
+    /**
+     * true si la base de datos es H2
+     */
+    public boolean isH2() {
+        return h2;
+    }
+}
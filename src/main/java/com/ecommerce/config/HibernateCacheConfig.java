@@ -0,0 +1,87 @@
+package com.ecommerce.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de segundo nivel de Hibernate (JCache sobre Caffeine) para las lecturas de categorías
+ *
+ * Regiones: entidad Category, colección Product.categories y caché de consultas
+ * (CategoryRepository.findByActiveTrueOrderByNameAsc). Todas son READ_WRITE: Hibernate las
+ * invalida al confirmar updateCategory/deleteCategory y las consultas cacheadas se descartan
+ * cuando cambia la tabla categories (región de timestamps, sin expiración).
+ * La caché es local a cada instancia; el TTL acota cuánto puede tardar en verse un cambio
+ * hecho por otra instancia. Los aciertos por región se publican como
+ * hibernate.second.level.cache.requests{region,result} (requiere hibernate.generate_statistics).
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CATEGORY_REGION = "category";
+
+    public static final String PRODUCT_CATEGORIES_REGION = "product.categories";
+
+    /**
+     * Regiones por defecto de la caché de consultas de Hibernate
+     */
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${ecommerce.cache.hibernate.category.maximum-size:1000}") long categoryMaximumSize,
+            @Value("${ecommerce.cache.hibernate.product-categories.maximum-size:50000}") long productCategoriesMaximumSize,
+            @Value("${ecommerce.cache.hibernate.query-results.maximum-size:100}") long queryResultsMaximumSize,
+            @Value("${ecommerce.cache.hibernate.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        // Administrador propio (URI única): no comparte regiones con otros contextos ni usos de JCache en la JVM
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("ecommerce-hibernate-" + UUID.randomUUID()), HibernateCacheConfig.class.getClassLoader());
+        cacheManager.createCache(CATEGORY_REGION, region(categoryMaximumSize, expireAfterWrite));
+        cacheManager.createCache(PRODUCT_CATEGORIES_REGION, region(productCategoriesMaximumSize, expireAfterWrite));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queryResultsMaximumSize, expireAfterWrite));
+        // Los timestamps no deben expirar antes que los resultados que validan
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(OptionalLong.empty(), null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCachePropertiesCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Toda región debe estar declarada arriba: un @Cache nuevo sin región configurada falla al arrancar
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration expireAfterWrite) {
+        return region(OptionalLong.of(maximumSize), expireAfterWrite);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(OptionalLong maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(expireAfterWrite.toMillis())));
+        }
+        // Por referencia: Hibernate ya guarda en la región copias desensambladas de las entidades
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
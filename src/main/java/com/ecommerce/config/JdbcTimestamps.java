@@ -0,0 +1,68 @@
+package com.ecommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Lectura y escritura de marcas de tiempo en SQL nativo con la zona de Hibernate (hibernate.jdbc.time_zone)
+ *
+ * Hibernate guarda los LocalDateTime de las entidades como la hora de esa zona. Un getObject(LocalDateTime)
+ * o un setTimestamp sin calendario no la aplican y desplazan la hora respecto a las filas escritas por JPA.
+ * R2DBC tampoco la aplica: los repositorios reactivos convierten lo leído con fromStored.
+ * Sin la propiedad se usa la zona de la JVM, igual que Hibernate.
+ */
+@Component
+public class JdbcTimestamps {
+
+    private final TimeZone timeZone;
+
+    public JdbcTimestamps(@Value("${spring.jpa.properties.hibernate.jdbc.time_zone:}") String timeZone) {
+        this.timeZone = timeZone.isBlank() ? TimeZone.getDefault() : TimeZone.getTimeZone(ZoneId.of(timeZone));
+    }
+
+    /**
+     * Marca de tiempo de una columna, null si es NULL
+     */
+    public LocalDateTime get(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column, calendar());
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Convierte la hora guardada tal cual (hora de la zona de Hibernate) a la que devuelve get
+     * y leen las entidades: el mismo instante en la zona de la JVM
+     */
+    public LocalDateTime fromStored(LocalDateTime stored) {
+        return stored != null
+                ? stored.atZone(timeZone.toZoneId()).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                : null;
+    }
+
+    /**
+     * Asigna una marca de tiempo a un parámetro, NULL si el valor es null
+     */
+    public void set(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value), calendar());
+        }
+    }
+
+    /**
+     * Calendar no es thread-safe: uno por llamada
+     */
+    private Calendar calendar() {
+        return Calendar.getInstance(timeZone);
+    }
+}
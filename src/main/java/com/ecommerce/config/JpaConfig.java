@@ -0,0 +1,27 @@
+package com.ecommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración adicional de Hibernate
+ *
+ * Publica ecommerce.jpa.id.* como settings de Hibernate para PooledSequenceGenerator.
+ * El allocation-size debe coincidir con el INCREMENT BY de las secuencias en la base de datos
+ * (ver db/migration/V4__pooled_id_sequences.sql); si se cambia, ajustar también las secuencias.
+ */
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorPropertiesCustomizer(
+            @Value("${ecommerce.jpa.id.allocation-size:50}") int allocationSize,
+            @Value("${ecommerce.jpa.id.optimizer:pooled-lo}") String optimizer) {
+        return properties -> {
+            properties.put(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+            properties.put(PooledSequenceGenerator.OPTIMIZER_SETTING, optimizer);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de métricas con Micrometer
+ *
+ * Métricas propias de la aplicación (histogramas y percentiles en management.metrics.distribution):
+ * - ecommerce.service: latencia de cada método público de los servicios (@Timed, tags class/method/exception)
+ * - ecommerce.search.results / ecommerce.search.total: filas devueltas y coincidencias totales por búsqueda
+ * - ecommerce.single-flight.calls: lecturas de productos ejecutadas o agrupadas con una idéntica en curso
+ * - ecommerce.access-log.entries: registros del log de acceso escritos y descartados (result=written|dropped)
+ * - ecommerce.datasource.replica.available / .lag: estado y retraso de cada réplica de lectura (perfil read-replicas)
+ * Spring Boot agrega además http.server.requests, spring.data.repository.invocations y hikaricp.*
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "ecommerce.service";
+    public static final String SEARCH_RESULTS = "ecommerce.search.results";
+    public static final String SEARCH_TOTAL = "ecommerce.search.total";
+    public static final String SINGLE_FLIGHT_CALLS = "ecommerce.single-flight.calls";
+    public static final String ACCESS_LOG_ENTRIES = "ecommerce.access-log.entries";
+    public static final String REPLICA_AVAILABLE = "ecommerce.datasource.replica.available";
+    public static final String REPLICA_LAG = "ecommerce.datasource.replica.lag";
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTagsCustomizer(
+            @Value("${spring.application.name:ecommerce-api}") String applicationName) {
+        return registry -> registry.config().commonTags("application", applicationName);
+    }
+}
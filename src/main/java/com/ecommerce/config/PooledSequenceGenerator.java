@@ -0,0 +1,37 @@
+package com.ecommerce.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Generador de IDs por secuencia con optimizador pooled / pooled-lo
+ *
+ * Igual que SequenceStyleGenerator, pero el tamaño de asignación (INCREMENT BY) y el optimizador
+ * se leen de la configuración (ecommerce.jpa.id.*, ver JpaConfig) en lugar de fijarse en la anotación.
+ * Cada llamada a la secuencia reserva un bloque de IDs en memoria, así Hibernate conoce el ID
+ * antes del INSERT y puede agrupar los inserts en JDBC batches.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "ecommerce.jpa.id.allocation_size";
+    public static final String OPTIMIZER_SETTING = "ecommerce.jpa.id.optimizer";
+
+    private static final String DEFAULT_ALLOCATION_SIZE = "50";
+    private static final String DEFAULT_OPTIMIZER = "pooled-lo";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<String, Object> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(settings.getOrDefault(ALLOCATION_SIZE_SETTING, DEFAULT_ALLOCATION_SIZE)));
+        parameters.setProperty(OPT_PARAM, String.valueOf(settings.getOrDefault(OPTIMIZER_SETTING, DEFAULT_OPTIMIZER)));
+
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Acceso reactivo a la base de datos para las lecturas del catálogo (perfil reactive)
+ *
+ * Crea un pool R2DBC propio, independiente de Hikari, con las propiedades spring.r2dbc.*;
+ * si no se define spring.r2dbc.url se deriva de spring.datasource.url (solo PostgreSQL).
+ * La auto-configuración R2DBC de Spring Boot está excluida (ver EcommerceApiApplication).
+ */
+@Configuration
+@Profile("reactive")
+@Slf4j
+public class ReactiveReadConfig {
+
+    private static final String JDBC_POSTGRESQL_PREFIX = "jdbc:postgresql:";
+
+    /**
+     * Pool R2DBC; no se publica como bean ConnectionFactory porque su presencia
+     * desactiva la auto-configuración del DataSource JDBC
+     */
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(
+            @Value("${spring.r2dbc.url:}") String url,
+            @Value("${spring.datasource.url:}") String jdbcUrl,
+            @Value("${spring.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${spring.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${spring.r2dbc.pool.initial-size:5}") int initialSize,
+            @Value("${spring.r2dbc.pool.max-size:20}") int maxSize) {
+        String r2dbcUrl = url.isBlank() ? fromJdbcUrl(jdbcUrl) : url;
+        log.info("Configurando pool R2DBC de lectura ({} - {} conexiones): {}", initialSize, maxSize, r2dbcUrl);
+
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("ecommerce-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    /**
+     * jdbc:postgresql://host:port/db?params -> r2dbc:postgresql://host:port/db
+     * Los parámetros JDBC (reWriteBatchedInserts, etc.) no aplican a R2DBC y se descartan
+     */
+    private static String fromJdbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith(JDBC_POSTGRESQL_PREFIX)) {
+            throw new IllegalStateException(
+                    "El perfil reactive requiere PostgreSQL; defina spring.r2dbc.url para la URL " + jdbcUrl);
+        }
+        int query = jdbcUrl.indexOf('?');
+        String base = query >= 0 ? jdbcUrl.substring(0, query) : jdbcUrl;
+        return "r2dbc:postgresql:" + base.substring(JDBC_POSTGRESQL_PREFIX.length());
+    }
+}
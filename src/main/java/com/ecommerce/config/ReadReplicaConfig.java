@@ -0,0 +1,133 @@
+package com.ecommerce.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réplicas de lectura (perfil read-replicas)
+ *
+ * Las transacciones @Transactional(readOnly = true) usan un pool Hikari por réplica
+ * (ecommerce.datasource.read-replicas.urls); el resto, y las lecturas sin réplica disponible, usan la primaria.
+ * Los pools de réplicas heredan la configuración de spring.datasource.hikari.*.
+ * Una réplica sale de servicio si no entrega conexiones o si su retraso supera max-lag-ms,
+ * y vuelve en la siguiente verificación correcta. Las lecturas pueden ir hasta max-lag-ms por detrás
+ * de la primaria; las que vuelven a llenar una caché o un snapshot después de una escritura (caché de
+ * productos, feeds) usan transacciones de lectura-escritura y se hacen en la primaria.
+ * Los pools se inyectan como DataSource: otros perfiles pueden decorar el bean dataSource
+ * (ver VirtualThreadsConfig) y la configuración de Hikari se obtiene con unwrap.
+ */
+@Configuration
+@Profile("read-replicas")
+@Slf4j
+public class ReadReplicaConfig {
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    /**
+     * Pool de la base de datos primaria (spring.datasource.*), como lo crearía Spring Boot
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * DataSource de la aplicación: enruta por transacción entre la primaria y las réplicas
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${ecommerce.datasource.read-replicas.urls:}") List<String> urls,
+            @Value("${ecommerce.datasource.read-replicas.username:}") String username,
+            @Value("${ecommerce.datasource.read-replicas.password:}") String password,
+            @Value("${ecommerce.datasource.read-replicas.maximum-pool-size:0}") int maximumPoolSize,
+            @Value("${ecommerce.datasource.read-replicas.connection-timeout-ms:2000}") long connectionTimeoutMs,
+            @Value("${ecommerce.datasource.read-replicas.lag-query:}") String lagQuery,
+            @Value("${ecommerce.datasource.read-replicas.max-lag-ms:5000}") long maxLagMs) throws SQLException {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("El perfil read-replicas requiere ecommerce.datasource.read-replicas.urls");
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        HikariDataSource primaryPool = primaryDataSource.unwrap(HikariDataSource.class);
+
+        List<ReadReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + i;
+            HikariConfig config = new HikariConfig();
+            primaryPool.copyStateTo(config);
+            config.setPoolName("ecommerce-" + name);
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setConnectionTimeout(connectionTimeoutMs);
+            // Réplica caída al arrancar: el pool se crea igual y la verificación la deja fuera de servicio
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(registry != null ? new MicrometerMetricsTrackerFactory(registry) : null);
+            if (!username.isBlank()) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            if (maximumPoolSize > 0) {
+                config.setMaximumPoolSize(maximumPoolSize);
+            }
+            replicas.add(new ReadReplicaRoutingDataSource.Replica(name, new HikariDataSource(config)));
+        }
+
+        routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicas, lagQuery, maxLagMs);
+        routingDataSource.checkReplicas();
+        replicas.forEach(replica -> {
+            log.info("Réplica de lectura {} ({}): {}", replica.getName(), replica.getDataSource().getJdbcUrl(),
+                    replica.isAvailable() ? "disponible" : "fuera de servicio");
+            if (registry != null) {
+                Gauge.builder(MetricsConfig.REPLICA_AVAILABLE, replica, r -> r.isAvailable() ? 1 : 0)
+                        .description("1 si la réplica recibe lecturas, 0 si está fuera de servicio")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+                TimeGauge.builder(MetricsConfig.REPLICA_LAG, replica, TimeUnit.MILLISECONDS,
+                                ReadReplicaRoutingDataSource.Replica::getLagMillis)
+                        .description("Retraso de replicación medido en la última verificación (-1 si no se pudo medir)")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+            }
+        });
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.datasource.read-replicas.check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicas();
+        }
+    }
+
+    @PreDestroy
+    public void closeReplicaPools() {
+        if (routingDataSource != null) {
+            routingDataSource.getReplicas().forEach(replica -> replica.getDataSource().close());
+        }
+    }
+}
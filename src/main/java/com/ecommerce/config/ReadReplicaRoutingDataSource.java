@@ -0,0 +1,160 @@
+package com.ecommerce.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a una réplica (perfil read-replicas)
+ *
+ * La réplica se elige por turnos entre las disponibles según la última verificación; sin réplicas
+ * disponibles, o si la elegida no entrega una conexión, la lectura va a la primaria.
+ * Debe envolverse en LazyConnectionDataSourceProxy: así la conexión se pide al ejecutar la primera
+ * sentencia, cuando la transacción ya está marcada como de solo lectura.
+ */
+@Slf4j
+class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    /**
+     * Réplica con su pool y el resultado de la última verificación
+     */
+    static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagMillis = -1;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        boolean isAvailable() {
+            return available;
+        }
+
+        /**
+         * Retraso de replicación medido en la última verificación (-1 si no se pudo medir)
+         */
+        long getLagMillis() {
+            return lagMillis;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReadReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, String lagQuery, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markUnavailable(replica, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credenciales explícitas: no se pueden aplicar a los pools de réplicas
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Verifica cada réplica: conexión válida y retraso de replicación dentro del máximo
+     */
+    void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    /**
+     * Réplica para la conexión actual, o null si debe usarse la primaria
+     */
+    private Replica selectReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            long lagMillis = lagQuery.isBlank() ? 0 : queryLagMillis(connection);
+            replica.lagMillis = lagMillis;
+            if (lagMillis > maxLagMillis) {
+                markUnavailable(replica, "retraso de replicación de " + lagMillis + " ms (máximo " + maxLagMillis + " ms)");
+            } else {
+                markAvailable(replica);
+            }
+        } catch (SQLException | RuntimeException e) {
+            replica.lagMillis = -1;
+            markUnavailable(replica, e.getMessage());
+        }
+    }
+
+    private long queryLagMillis(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    private void markAvailable(Replica replica) {
+        if (!replica.available) {
+            replica.available = true;
+            log.info("Réplica de lectura {} disponible (retraso {} ms)", replica.name, replica.lagMillis);
+        }
+    }
+
+    private void markUnavailable(Replica replica, String reason) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("Réplica de lectura {} fuera de servicio, las lecturas van a la primaria: {}", replica.name, reason);
+        } else {
+            log.debug("Réplica de lectura {} sigue fuera de servicio: {}", replica.name, reason);
+        }
+    }
+}
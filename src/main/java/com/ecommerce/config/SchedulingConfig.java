@@ -0,0 +1,12 @@
+package com.ecommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas @Scheduled (reconstrucción diferida de los feeds de productos)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
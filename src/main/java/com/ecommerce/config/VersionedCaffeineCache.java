@@ -0,0 +1,123 @@
+package com.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché Caffeine que descarta las cargas que quedaron obsoletas mientras se leían
+ *
+ * Una lectura que empezó antes del commit de una escritura puede terminar después de su invalidación
+ * y volver a guardar la fila anterior hasta que venza el TTL. Cada invalidación recibe un número de orden
+ * y quien carga toma uno antes de leer (startLoad): putLoaded descarta el valor si la clave se invalidó
+ * después, o si la caché ya tiene una versión más nueva. La comparación y el put son atómicos por clave,
+ * y la invalidación registra su número antes de quitar la entrada, así no queda un put intermedio.
+ */
+public class VersionedCaffeineCache extends CaffeineCache {
+
+    /**
+     * Cuánto se recuerda cada invalidación; cubre de sobra la carga más lenta de una entrada
+     */
+    private static final Duration EVICTION_MEMORY = Duration.ofMinutes(1);
+
+    private final Function<Object, Long> versionOf;
+    private final AtomicLong evictions = new AtomicLong();
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Long> evictedAt =
+            Caffeine.newBuilder().expireAfterWrite(EVICTION_MEMORY).build();
+    private volatile long clearedAt;
+
+    public VersionedCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                  Function<Object, Long> versionOf) {
+        super(name, cache, false);
+        this.versionOf = versionOf;
+    }
+
+    /**
+     * Devuelve la caché con guarda de versión detrás del decorador transaccional, o null si no lo es
+     */
+    public static VersionedCaffeineCache unwrap(Cache cache) {
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        return target instanceof VersionedCaffeineCache versioned ? versioned : null;
+    }
+
+    /**
+     * Marca el inicio de una carga; se llama antes de leer de la base de datos
+     */
+    public long startLoad() {
+        return evictions.get();
+    }
+
+    /**
+     * Guarda un valor cargado salvo que la clave se haya invalidado después de startLoad
+     * o que la caché tenga una versión más nueva
+     * Como el decorador transaccional, dentro de una transacción el put se aplica después del commit
+     */
+    public void putLoaded(Object key, Object value, long loadStamp) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putIfCurrent(key, value, loadStamp);
+                }
+            });
+        } else {
+            putIfCurrent(key, value, loadStamp);
+        }
+    }
+
+    /**
+     * @return true si el valor quedó en la caché
+     */
+    boolean putIfCurrent(Object key, Object value, long loadStamp) {
+        boolean[] stored = {false};
+        getNativeCache().asMap().compute(key, (k, current) -> {
+            Long evicted = evictedAt.getIfPresent(k);
+            if (clearedAt > loadStamp || (evicted != null && evicted > loadStamp) || isNewer(current, value)) {
+                return current;
+            }
+            stored[0] = true;
+            return value;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictedAt.put(key, evictions.incrementAndGet());
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictedAt.put(key, evictions.incrementAndGet());
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        clearedAt = evictions.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clearedAt = evictions.incrementAndGet();
+        return super.invalidate();
+    }
+
+    private boolean isNewer(Object current, Object loaded) {
+        if (current == null) {
+            return false;
+        }
+        Long currentVersion = versionOf.apply(current);
+        Long loadedVersion = versionOf.apply(loaded);
+        return currentVersion != null && loadedVersion != null && currentVersion > loadedVersion;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo de ejecución con hilos virtuales (perfil virtual-threads, requiere Java 21)
+ *
+ * spring.threads.virtual.enabled (ver application-virtual-threads.yml) hace que Tomcat atienda
+ * cada petición en un hilo virtual. Para que miles de peticiones concurrentes no compitan
+ * por el pool de Hikari, el DataSource se envuelve en ConcurrencyLimitedDataSource con tantos
+ * permisos como conexiones tiene el pool.
+ * Solo se envuelve el bean dataSource que usa la aplicación: con el perfil read-replicas los pools
+ * de la primaria y de las réplicas quedan debajo de un único semáforo, con permisos para todos ellos.
+ */
+@Configuration
+@Profile("virtual-threads")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    /**
+     * Nombre del DataSource de la aplicación (auto-configurado o el de ReadReplicaConfig)
+     */
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    int permits = connectionPermits(environment);
+                    log.info("Limitando el acceso concurrente a la base de datos a {} conexiones", permits);
+                    return new ConcurrencyLimitedDataSource(dataSource, permits,
+                            environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Conexiones que el DataSource puede entregar a la vez: el pool de la primaria más,
+     * con el perfil read-replicas, el de cada réplica (maximum-pool-size 0 = tamaño de la primaria)
+     */
+    static int connectionPermits(Environment environment) {
+        int primaryPoolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        if (!environment.acceptsProfiles(Profiles.of("read-replicas"))) {
+            return primaryPoolSize;
+        }
+        String[] replicaUrls = environment.getProperty("ecommerce.datasource.read-replicas.urls", String[].class, new String[0]);
+        int replicaPoolSize = environment.getProperty("ecommerce.datasource.read-replicas.maximum-pool-size", Integer.class, 0);
+        return primaryPoolSize + replicaUrls.length * (replicaPoolSize > 0 ? replicaPoolSize : primaryPoolSize);
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+                Gauge.builder("ecommerce.db.permits.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                        .description("Permisos libres del semáforo de acceso a la base de datos")
+                        .register(registry);
+                Gauge.builder("ecommerce.db.permits.waiting", limited, ConcurrencyLimitedDataSource::getQueueLength)
+                        .description("Peticiones esperando un permiso de acceso a la base de datos")
+                        .register(registry);
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnIfPlatformThreads() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("Perfil virtual-threads activo en Java {}: se requiere Java 21, las peticiones usan hilos de plataforma",
+                    Runtime.version().feature());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.controller;
 
 import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.projection.CategoryVersionProjection;
 import com.ecommerce.dto.request.CategoryCreateRequest;
 import com.ecommerce.dto.response.CategoryResponse;
 import com.ecommerce.service.CategoryService;
@@ -17,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controlador REST para gestión de categorías con patrón Command
@@ -50,7 +52,7 @@ public class CategoryController {
             @Parameter(description = "Datos de la categoría a crear", required = true)
             @Valid @RequestBody CategoryCreateRequest request) {
         
-        log.info("REST: Creando nueva categoría con nombre: {}", request.getName());
+        log.debug("REST: Creando nueva categoría con nombre: {}", request.getName());
         
         // Construcción del Command usando Builder Pattern
         var command = CategoryCreateCommand.builder()
@@ -70,13 +72,24 @@ public class CategoryController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Categoría encontrada",
                     content = @Content(schema = @Schema(implementation = CategoryResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Sin cambios respecto a If-None-Match/If-Modified-Since"),
         @ApiResponse(responseCode = "404", description = "Categoría no encontrada")
     })
     public ResponseEntity<CategoryResponse> getCategoryById(
             @Parameter(description = "ID de la categoría", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         
-        log.info("REST: Obteniendo categoría con ID: {}", id);
+        log.debug("REST: Obteniendo categoría con ID: {}", id);
+        var version = categoryService.getCategoryVersion(id);
+        if (version.isPresent()) {
+            CategoryVersionProjection v = version.get();
+            String eTag = EntityTags.strong(id, v.getUpdatedAt(), v.getProductCount());
+            if (webRequest.checkNotModified(eTag, EntityTags.lastModified(v.getUpdatedAt()))) {
+                log.debug("REST: Categoría {} sin cambios, respondiendo 304", id);
+                return null;
+            }
+        }
         CategoryResponse response = categoryService.getCategoryById(id);
         return ResponseEntity.ok(response);
     }
@@ -99,7 +112,7 @@ public class CategoryController {
             @Parameter(description = "Nuevos datos de la categoría", required = true)
             @Valid @RequestBody CategoryCreateRequest request) {
         
-        log.info("REST: Actualizando categoría con ID: {}", id);
+        log.debug("REST: Actualizando categoría con ID: {}", id);
         
         // Construcción del Command usando Builder Pattern
         var command = CategoryCreateCommand.builder()
@@ -0,0 +1,62 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.response.ChangeFeedResponse;
+import com.ecommerce.service.ChangeOutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controlador REST del feed de cambios de productos y categorías (outbox transaccional)
+ * 
+ * GET /changes?since=0 - Cambios publicados después de la posición indicada
+ */
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cambios", description = "Feed incremental de cambios del catálogo")
+public class ChangeController {
+    
+    private static final int MAX_LIMIT = 1000;
+    
+    private final ChangeOutboxService changeOutboxService;
+    
+    @GetMapping
+    @Operation(
+        summary = "Feed de cambios",
+        description = "Devuelve los cambios de productos y categorías publicados después de since, en orden. " +
+                      "Enviar nextCursor como since en la siguiente petición; reemplaza releer el catálogo completo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios publicados",
+                    content = @Content(schema = @Schema(implementation = ChangeFeedResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos")
+    })
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @Parameter(description = "Última posición procesada (0 para empezar desde el inicio)", example = "0")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Máximo de cambios por página", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        if (since < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Parámetros inválidos: since >= 0 y limit entre 1 y " + MAX_LIMIT);
+        }
+        log.debug("REST: Obteniendo cambios desde la posición {}", since);
+        return ResponseEntity.ok(changeOutboxService.getChanges(since, limit));
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.controller;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Construcción de ETag fuertes y Last-Modified a partir de id + updatedAt
+ *
+ * Las marcas de tiempo se generan con @UpdateTimestamp en la zona del servidor,
+ * por eso se convierten a epoch con ZoneId.systemDefault().
+ */
+final class EntityTags {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private EntityTags() {
+    }
+
+    /**
+     * ETag fuerte "id-t1-t2-..." con las marcas de tiempo en microsegundos (precisión de PostgreSQL)
+     * Los valores null se representan con 0
+     */
+    static String strong(Long id, Object... versions) {
+        StringBuilder tag = new StringBuilder("\"").append(id);
+        for (Object version : versions) {
+            tag.append('-');
+            if (version instanceof LocalDateTime timestamp) {
+                tag.append(ChronoUnit.MICROS.between(EPOCH, timestamp));
+            } else {
+                tag.append(version == null ? 0 : version);
+            }
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Milisegundos epoch de la marca de tiempo más reciente, -1 si todas son null
+     */
+    static long lastModified(LocalDateTime... timestamps) {
+        LocalDateTime latest = null;
+        for (LocalDateTime timestamp : timestamps) {
+            if (timestamp != null && (latest == null || timestamp.isAfter(latest))) {
+                latest = timestamp;
+            }
+        }
+        return latest == null ? -1 : latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
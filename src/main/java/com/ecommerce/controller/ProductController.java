@@ -1,11 +1,26 @@
 package com.ecommerce.controller;
 
 import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductField;
 import com.ecommerce.dto.command.ProductSearchCommand;
-import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.projection.ProductVersionProjection;
 import com.ecommerce.dto.request.ProductCreateRequest;
 import com.ecommerce.dto.request.ProductSearchRequest;
+import com.ecommerce.dto.request.StockDecrementRequest;
+import com.ecommerce.dto.response.CategoryResponse;
+import com.ecommerce.dto.response.ProductBatchResponse;
+import com.ecommerce.dto.response.ProductCursorPageResponse;
+import com.ecommerce.dto.response.ProductFacetedPage;
+import com.ecommerce.dto.response.ProductFacetsResponse;
+import com.ecommerce.dto.response.ProductImportResponse;
 import com.ecommerce.dto.response.ProductResponse;
+import com.ecommerce.dto.response.StockDecrementResponse;
+import com.ecommerce.service.CatalogFileFormat;
+import com.ecommerce.service.HotStockEngine;
+import com.ecommerce.service.ProductExportService;
+import com.ecommerce.service.ProductFacetService;
+import com.ecommerce.service.ProductFeedService;
+import com.ecommerce.service.ProductImportService;
 import com.ecommerce.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,20 +32,45 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Controlador REST para gestión de productos con patrón Command
  * 
  * ENDPOINTS IMPLEMENTADOS (3 de los 6 requeridos + 1 especial):
  * 4. POST /products - Crear producto
+ * GET /products - Listar productos paginados
  * 5. GET /products/{id} - Obtener producto por ID
  * 6. PUT /products/{id} - Actualizar producto
  * 7. POST /products/search - Búsqueda especial con query nativa
+ * POST /products/import - Importación masiva (NDJSON o CSV)
+ * GET /products/export - Exportación en streaming del catálogo activo (NDJSON o CSV)
+ * GET /products/batch?ids=1,2,3 - Varios productos por ID en una petición
+ * GET /products/featured - Productos destacados (feed en memoria)
+ * GET /products/low-stock - Productos con stock bajo (feed en memoria)
+ * POST /products/{id}/stock/decrement - Descuento atómico de stock
+ *
+ * GET /products, GET /products/{id} y POST /products/search aceptan fields=id,name,price,...
+ * para leer y devolver solo esos campos (ver ProductField)
  */
 @RestController
 @RequestMapping("/products")
@@ -39,7 +79,26 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Productos", description = "API para gestión de productos con patrón Command completo")
 public class ProductController {
     
+    /**
+     * Máximo de IDs por petición en GET /products/batch
+     */
+    private static final int MAX_BATCH_IDS = 100;
+    
+    /**
+     * Total real de un feed, que puede superar lo paginable (ecommerce.feeds.max-items)
+     */
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    
+    private static final String FIELDS_DESCRIPTION = "Campos a devolver separados por coma (id siempre incluido): " +
+            "id, name, description, price, stock, imageUrl, brand, model, weight, dimensions, active, featured, " +
+            "createdAt, updatedAt, version, categoryIds, categoryNames";
+    
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductFeedService productFeedService;
+    private final ProductFacetService productFacetService;
+    private final ObjectProvider<HotStockEngine> hotStockEngine;
     
     /**
      * ENDPOINT ESPECIAL: Búsqueda avanzada con patrón Command
@@ -47,23 +106,26 @@ public class ProductController {
     @PostMapping("/search")
     @Operation(
         summary = "Búsqueda avanzada de productos (ENDPOINT ESPECIAL)",
-        description = "Búsqueda avanzada usando patrón Command, query nativa y proyección a interfaz"
+        description = "Búsqueda avanzada usando patrón Command, query nativa y proyección a interfaz. " +
+                      "Con paginationMode = cursor se pagina por keyset (name, id) y se responde con nextCursor. " +
+                      "Con fields solo se consultan y devuelven esas columnas. " +
+                      "Con includeFacets se agregan cantidades por marca, categoría y rango de precio del resultado completo"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
-                    content = @Content(schema = @Schema(implementation = Page.class))),
-        @ApiResponse(responseCode = "400", description = "Parámetros de búsqueda inválidos")
+                    content = @Content(schema = @Schema(oneOf = {Page.class, ProductFacetedPage.class, ProductCursorPageResponse.class}))),
+        @ApiResponse(responseCode = "400", description = "Parámetros de búsqueda, cursor o campos inválidos")
     })
-    public ResponseEntity<Page<ProductSearchProjection>> searchProducts(
+    public ResponseEntity<?> searchProducts(
             @Parameter(description = "Criterios de búsqueda", required = true)
-            @Valid @RequestBody ProductSearchRequest searchRequest) {
+            @Valid @RequestBody ProductSearchRequest searchRequest,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,name,price,imageUrl")
+            @RequestParam(required = false) String fields) {
         
-        log.info("REST: Búsqueda avanzada de productos");
+        log.debug("REST: Búsqueda avanzada de productos");
+        Set<ProductField> selectedFields = parseFields(fields);
         
-        // Crear Pageable desde los parámetros del request
-        int page = searchRequest.getPage() != null ? searchRequest.getPage() : 0;
         int size = searchRequest.getSize() != null ? searchRequest.getSize() : 10;
-        Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
         
         // Construcción del Command simplificado usando Builder Pattern
         var searchCommand = ProductSearchCommand.builder()
@@ -72,10 +134,36 @@ public class ProductController {
                 .minPrice(searchRequest.getMinPrice())
                 .maxPrice(searchRequest.getMaxPrice())
                 .minStock(searchRequest.getMinStock())
+                .searchText(searchRequest.getSearchText())
+                .categoryIds(searchRequest.getCategoryIds())
+                .priceBuckets(searchRequest.getPriceBuckets())
                 .build();
         
-        Page<ProductSearchProjection> results = productService.searchProducts(searchCommand, pageable);
-        return ResponseEntity.ok(results);
+        // Facetas sobre el conjunto filtrado completo (consulta única, caché de TTL corto)
+        ProductFacetsResponse facets = Boolean.TRUE.equals(searchRequest.getIncludeFacets())
+                ? productFacetService.getFacets(searchCommand)
+                : null;
+        
+        // Paginación por cursor (keyset): costo constante por página y sin COUNT salvo que se pida
+        if ("cursor".equalsIgnoreCase(searchRequest.getPaginationMode()) || searchRequest.getCursor() != null) {
+            boolean includeTotal = Boolean.TRUE.equals(searchRequest.getIncludeTotal());
+            ProductCursorPageResponse<?> results = selectedFields != null
+                    ? productService.searchProductFieldsByCursor(
+                            searchCommand, searchRequest.getCursor(), size, includeTotal, selectedFields)
+                    : productService.searchProductsByCursor(
+                            searchCommand, searchRequest.getCursor(), size, includeTotal);
+            // La página puede ser compartida con otras llamadas agrupadas: las facetas van en una copia
+            return ResponseEntity.ok(facets != null ? results.toBuilder().facets(facets).build() : results);
+        }
+        
+        // Crear Pageable desde los parámetros del request
+        int page = searchRequest.getPage() != null ? searchRequest.getPage() : 0;
+        Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
+        
+        Page<?> results = selectedFields != null
+                ? productService.searchProductFields(searchCommand, pageable, selectedFields)
+                : productService.searchProducts(searchCommand, pageable);
+        return ResponseEntity.ok(facets != null ? new ProductFacetedPage<>(results, facets) : results);
     }
     
     @PostMapping
@@ -92,7 +180,7 @@ public class ProductController {
             @Parameter(description = "Datos del producto a crear", required = true)
             @Valid @RequestBody ProductCreateRequest request) {
         
-        log.info("REST: Creando nuevo producto con nombre: {}", request.getName());
+        log.debug("REST: Creando nuevo producto con nombre: {}", request.getName());
         
         // Construcción del Command usando Builder Pattern
         var command = ProductCreateCommand.builder()
@@ -114,25 +202,238 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @Operation(
+        summary = "Importación masiva de productos",
+        description = "Importa productos desde NDJSON (un objeto ProductCreateRequest por línea) o CSV con encabezado " +
+                      "(name,description,price,stock,imageUrl,brand,model,weight,dimensions,featured,categoryIds; " +
+                      "categoryIds separados por '|'). El cuerpo se procesa en streaming por lotes y " +
+                      "las filas inválidas se reportan con su número de línea"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación procesada",
+                    content = @Content(schema = @Schema(implementation = ProductImportResponse.class))),
+        @ApiResponse(responseCode = "415", description = "Formato no soportado")
+    })
+    public ResponseEntity<ProductImportResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Archivo NDJSON o CSV", required = true,
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")})
+            InputStream body) {
+        
+        CatalogFileFormat format = CatalogFileFormat.fromContentType(contentType);
+        
+        log.debug("REST: Importación masiva de productos en formato {}", format);
+        ProductImportResponse response = productImportService.importProducts(body, format);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/export")
+    @Operation(
+        summary = "Exportación del catálogo activo",
+        description = "Exporta todos los productos activos ordenados por ID en NDJSON o CSV (columnas compatibles con /import). " +
+                      "La respuesta se escribe en streaming desde un cursor de base de datos, sin paginar ni cargar el catálogo en memoria"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catálogo exportado",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+        @ApiResponse(responseCode = "400", description = "Formato no soportado")
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Formato de salida: ndjson o csv", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        CatalogFileFormat fileFormat;
+        try {
+            fileFormat = CatalogFileFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        log.debug("REST: Exportando catálogo en formato {}", fileFormat);
+        
+        StreamingResponseBody body = output -> productExportService.exportActiveProducts(fileFormat, output);
+        return ResponseEntity.ok()
+                .contentType(fileFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + fileFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+    
+    @GetMapping("/batch")
+    @Operation(
+        summary = "Obtener varios productos por ID",
+        description = "Devuelve los productos en el orden de ids (sin repetidos) e informa los IDs inexistentes. " +
+                      "Una sola consulta IN y una carga de categorías por lotes en lugar de una petición por producto"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos encontrados",
+                    content = @Content(schema = @Schema(implementation = ProductBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o con más de " + MAX_BATCH_IDS + " elementos")
+    })
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(
+            @Parameter(description = "IDs de productos separados por coma", required = true, example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_IDS || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Se requieren entre 1 y " + MAX_BATCH_IDS + " IDs de producto válidos");
+        }
+        log.debug("REST: Obteniendo {} productos por ID", ids.size());
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+    
+    @GetMapping("/featured")
+    @Operation(
+        summary = "Productos destacados",
+        description = "Productos destacados activos, más recientes primero. " +
+                      "Se sirven desde un snapshot en memoria que se reconstruye poco después de cada escritura. " +
+                      "Solo los primeros ecommerce.feeds.max-items son paginables (totalElements); " +
+                      "el total real se envía en el encabezado X-Total-Count"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de productos destacados"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos")
+    })
+    public ResponseEntity<Page<ProductResponse>> getFeaturedProducts(
+            @Parameter(description = "Número de página (desde 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        
+        log.debug("REST: Obteniendo productos destacados, página {} de tamaño {}", page, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(productFeedService.getFeaturedTotal()))
+                .body(productFeedService.getFeaturedProducts(boundedPage(page, size, Sort.unsorted())));
+    }
+    
+    @GetMapping("/low-stock")
+    @Operation(
+        summary = "Productos con stock bajo",
+        description = "Productos activos con stock menor a ecommerce.feeds.low-stock-threshold, menor stock primero. " +
+                      "Se sirven desde un snapshot en memoria que se reconstruye poco después de cada escritura. " +
+                      "Solo los primeros ecommerce.feeds.max-items son paginables (totalElements); " +
+                      "el total real se envía en el encabezado X-Total-Count"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de productos con stock bajo"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos")
+    })
+    public ResponseEntity<Page<ProductResponse>> getLowStockProducts(
+            @Parameter(description = "Número de página (desde 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        
+        log.debug("REST: Obteniendo productos con stock bajo, página {} de tamaño {}", page, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(productFeedService.getLowStockTotal()))
+                .body(productFeedService.getLowStockProducts(boundedPage(page, size, Sort.unsorted())));
+    }
+    
+    @GetMapping
+    @Operation(
+        summary = "Listar productos",
+        description = "Obtiene una página de productos ordenados por ID. " +
+                      "Con fields solo se consultan y devuelven esas columnas (sin categorías completas)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de productos"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación o campos inválidos")
+    })
+    public ResponseEntity<Page<?>> getAllProducts(
+            @Parameter(description = "Número de página (desde 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,name,price,imageUrl")
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("REST: Obteniendo productos, página {} de tamaño {}", page, size);
+        Set<ProductField> selectedFields = parseFields(fields);
+        Pageable pageable = boundedPage(page, size, Sort.by("id"));
+        if (selectedFields != null) {
+            return ResponseEntity.ok(productService.getAllProductFields(pageable, selectedFields));
+        }
+        return ResponseEntity.ok(productService.getAllProducts(pageable));
+    }
+    
     @GetMapping("/{id}")
     @Operation(
         summary = "Obtener producto por ID",
-        description = "Obtiene la información detallada de un producto específico"
+        description = "Obtiene la información detallada de un producto específico. " +
+                      "Con fields solo se consultan y devuelven esas columnas"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Producto encontrado",
                     content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Sin cambios respecto a If-None-Match/If-Modified-Since"),
+        @ApiResponse(responseCode = "400", description = "Campos inválidos"),
         @ApiResponse(responseCode = "404", description = "Producto no encontrado")
     })
-    public ResponseEntity<ProductResponse> getProductById(
+    public ResponseEntity<?> getProductById(
             @Parameter(description = "ID del producto", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,name,price,imageUrl")
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        
+        log.debug("REST: Obteniendo producto con ID: {}", id);
+        Set<ProductField> selectedFields = parseFields(fields);
+        if (selectedFields != null) {
+            // Cada selección de campos es una representación distinta y lleva su propio ETag
+            var version = productService.getProductVersion(id);
+            if (version.isPresent()) {
+                ProductVersionProjection v = version.get();
+                String eTag = EntityTags.strong(id, v.getUpdatedAt(), v.getCategoriesUpdatedAt(), ProductField.key(selectedFields));
+                if (webRequest.checkNotModified(eTag, EntityTags.lastModified(v.getUpdatedAt(), v.getCategoriesUpdatedAt()))) {
+                    log.debug("REST: Producto {} sin cambios, respondiendo 304", id);
+                    return null;
+                }
+            }
+            return ResponseEntity.ok(productService.getProductFieldsById(id, selectedFields));
+        }
         
-        log.info("REST: Obteniendo producto con ID: {}", id);
+        // La representación completa sale de la caché de productos: el ETag se calcula sobre ella, sin otra consulta
         ProductResponse response = productService.getProductById(id);
+        LocalDateTime updatedAt = response.getUpdatedAt() != null ? response.getUpdatedAt() : response.getCreatedAt();
+        LocalDateTime categoriesUpdatedAt = categoriesUpdatedAt(response);
+        String eTag = EntityTags.strong(id, updatedAt, categoriesUpdatedAt, productCounts(response));
+        if (webRequest.checkNotModified(eTag, EntityTags.lastModified(updatedAt, categoriesUpdatedAt))) {
+            log.debug("REST: Producto {} sin cambios, respondiendo 304", id);
+            return null;
+        }
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Última modificación entre las categorías de la respuesta, null si no tiene categorías
+     */
+    private static LocalDateTime categoriesUpdatedAt(ProductResponse response) {
+        if (response.getCategories() == null) {
+            return null;
+        }
+        return response.getCategories().stream()
+                .map(category -> category.getUpdatedAt() != null ? category.getUpdatedAt() : category.getCreatedAt())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+    
+    /**
+     * productCount de cada categoría ("id.count" por ID de categoría), parte del ETag del producto
+     */
+    private static String productCounts(ProductResponse response) {
+        if (response.getCategories() == null) {
+            return "";
+        }
+        return response.getCategories().stream()
+                .sorted(Comparator.comparing(CategoryResponse::getId))
+                .map(category -> category.getId() + "." + category.getProductCount())
+                .collect(Collectors.joining("."));
+    }
+    
     @PutMapping("/{id}")
     @Operation(
         summary = "Actualizar producto",
@@ -142,7 +443,8 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Producto actualizado exitosamente",
                     content = @Content(schema = @Schema(implementation = ProductResponse.class))),
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
-        @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "409", description = "El producto fue modificado después de leerlo (version)")
     })
     public ResponseEntity<ProductResponse> updateProduct(
             @Parameter(description = "ID del producto a actualizar", required = true, example = "1")
@@ -150,7 +452,7 @@ public class ProductController {
             @Parameter(description = "Nuevos datos del producto", required = true)
             @Valid @RequestBody ProductCreateRequest request) {
         
-        log.info("REST: Actualizando producto con ID: {}", id);
+        log.debug("REST: Actualizando producto con ID: {}", id);
         
         // Construcción del Command usando Builder Pattern
         var command = ProductCreateCommand.builder()
@@ -166,9 +468,62 @@ public class ProductController {
                 .active(true)
                 .featured(request.getFeatured())
                 .categoryIds(request.getCategoryIds())
+                .version(request.getVersion())
                 .build();
         
         ProductResponse response = productService.updateProduct(id, command);
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+    
+    @PostMapping("/{id}/stock/decrement")
+    @Operation(
+        summary = "Descontar stock",
+        description = "Descuenta unidades con un único UPDATE condicional (stock >= cantidad), sin cargar el producto. " +
+                      "Seguro ante compras concurrentes del mismo producto: nunca deja stock negativo ni pierde descuentos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock descontado",
+                    content = @Content(schema = @Schema(implementation = StockDecrementResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Cantidad inválida"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado o inactivo"),
+        @ApiResponse(responseCode = "409", description = "Stock insuficiente"),
+        @ApiResponse(responseCode = "503", description = "No se pudo registrar la reserva en el journal (perfil hot-stock)")
+    })
+    public ResponseEntity<StockDecrementResponse> decrementStock(
+            @Parameter(description = "ID del producto", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Cantidad a descontar", required = true)
+            @Valid @RequestBody StockDecrementRequest request) {
+        
+        log.debug("REST: Descontando {} unidades de stock del producto {}", request.getQuantity(), id);
+        
+        // Perfil hot-stock: los productos de alta demanda descuentan en memoria con volcado diferido
+        HotStockEngine engine = hotStockEngine.getIfAvailable();
+        if (engine != null && engine.isHot(id)) {
+            return ResponseEntity.ok(engine.decrementStock(id, request.getQuantity()));
+        }
+        return ResponseEntity.ok(productService.decrementStock(id, request.getQuantity()));
+    }
+    
+    private static Pageable boundedPage(int page, int size, Sort sort) {
+        if (page < 0 || size < 1 || size > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Paginación inválida: page >= 0 y size entre 1 y 100");
+        }
+        return org.springframework.data.domain.PageRequest.of(page, size, sort);
+    }
+    
+    /**
+     * Campos pedidos con fields=, o null si no se indicaron (representación completa)
+     */
+    private static Set<ProductField> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        try {
+            return ProductField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.request.ProductSearchRequest;
+import com.ecommerce.dto.response.CategoryResponse;
+import com.ecommerce.service.ReactiveCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST de lectura reactiva del catálogo (perfil reactive)
+ *
+ * Mismas lecturas que ProductController/CategoryController pero sin bloquear un hilo por petición:
+ * Spring MVC libera el hilo del servlet mientras R2DBC resuelve la consulta.
+ * Con Accept application/x-ndjson los resultados se escriben a medida que llegan, pidiendo
+ * más filas a la base de datos solo cuando el cliente consume las anteriores (backpressure).
+ *
+ * GET /reactive/products/{id} - Obtener producto por ID
+ * POST /reactive/products/search - Búsqueda avanzada (misma query nativa, paginación por cursor)
+ * GET /reactive/categories - Categorías activas con cantidad de productos
+ */
+@RestController
+@RequestMapping("/reactive")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Lectura reactiva", description = "Lecturas del catálogo no bloqueantes con R2DBC (perfil reactive)")
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    @GetMapping("/products/{id}")
+    @Operation(summary = "Obtener producto por ID (reactivo)",
+               description = "Producto con sus categorías agregadas, en el formato de la búsqueda")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Producto encontrado"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+    })
+    public Mono<ProductSearchProjection> getProductById(
+            @Parameter(description = "ID del producto", required = true, example = "1")
+            @PathVariable Long id) {
+
+        log.debug("REST reactivo: Obteniendo producto con ID: {}", id);
+        return reactiveCatalogService.getProductById(id);
+    }
+
+    @PostMapping(value = "/products/search",
+                 produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Búsqueda avanzada de productos (reactiva)",
+               description = "Mismos filtros que POST /products/search, ordenados por (name, id) a partir de cursor. " +
+                             "Con size se limita la cantidad de resultados; sin size se emiten todas las coincidencias")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream de productos"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de búsqueda inválidos")
+    })
+    public Flux<ProductSearchProjection> searchProducts(
+            @Parameter(description = "Criterios de búsqueda", required = true)
+            @Valid @RequestBody ProductSearchRequest searchRequest) {
+
+        log.debug("REST reactivo: Búsqueda avanzada de productos");
+
+        var searchCommand = ProductSearchCommand.builder()
+                .name(searchRequest.getName())
+                .brand(searchRequest.getBrand())
+                .minPrice(searchRequest.getMinPrice())
+                .maxPrice(searchRequest.getMaxPrice())
+                .minStock(searchRequest.getMinStock())
+                .searchText(searchRequest.getSearchText())
+                .categoryIds(searchRequest.getCategoryIds())
+                .build();
+
+        return reactiveCatalogService.searchProducts(searchCommand, searchRequest.getCursor(), searchRequest.getSize());
+    }
+
+    @GetMapping(value = "/categories",
+                produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Listar categorías activas (reactivo)",
+               description = "Categorías activas ordenadas por nombre con su cantidad de productos")
+    public Flux<CategoryResponse> getActiveCategories() {
+        log.debug("REST reactivo: Listando categorías activas");
+        return reactiveCatalogService.getActiveCategories();
+    }
+}
@@ -43,4 +43,6 @@ public class ProductCreateCommand {
     private Boolean featured;
     
     private List<Long> categoryIds;
+    
+    private Long version;
 } 
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.ecommerce.dto.command;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de producto seleccionables con el parámetro fields= (sparse fieldsets)
+ *
+ * Cada campo corresponde a una columna del SELECT (ver ProductSearchSql), así solo se leen
+ * y serializan los valores pedidos. Las categorías se exponen como en la búsqueda nativa:
+ * listas de IDs y nombres ordenadas por ID de categoría.
+ */
+public enum ProductField {
+
+    ID("id", Long.class),
+    NAME("name", String.class),
+    DESCRIPTION("description", String.class),
+    PRICE("price", BigDecimal.class),
+    STOCK("stock", Integer.class),
+    IMAGE_URL("imageUrl", String.class),
+    BRAND("brand", String.class),
+    MODEL("model", String.class),
+    WEIGHT("weight", BigDecimal.class),
+    DIMENSIONS("dimensions", String.class),
+    ACTIVE("active", Boolean.class),
+    FEATURED("featured", Boolean.class),
+    CREATED_AT("createdAt", LocalDateTime.class),
+    UPDATED_AT("updatedAt", LocalDateTime.class),
+    VERSION("version", Long.class),
+    CATEGORY_IDS("categoryIds", List.class),
+    CATEGORY_NAMES("categoryNames", List.class);
+
+    private static final Map<String, ProductField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toMap(field -> field.property.toLowerCase(Locale.ROOT), Function.identity()));
+
+    private final String property;
+    private final Class<?> type;
+
+    ProductField(String property, Class<?> type) {
+        this.property = property;
+        this.type = type;
+    }
+
+    /**
+     * Nombre de la propiedad en el JSON y alias de la columna en el SQL
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Interpreta una lista separada por coma ("id,name,price,imageUrl"), sin distinguir mayúsculas
+     * El ID se incluye siempre para identificar cada producto
+     *
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            ProductField field = BY_PROPERTY.get(name.trim().toLowerCase(Locale.ROOT));
+            if (field == null) {
+                throw new IllegalArgumentException("Campo de producto desconocido: " + name.trim() +
+                        ". Campos válidos: " + Arrays.stream(values()).map(ProductField::getProperty)
+                        .collect(Collectors.joining(",")));
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+
+    /**
+     * Representación canónica de la selección (orden de declaración), usada en el ETag
+     */
+    public static String key(Set<ProductField> fields) {
+        return fields.stream().map(ProductField::getProperty).collect(Collectors.joining("."));
+    }
+}
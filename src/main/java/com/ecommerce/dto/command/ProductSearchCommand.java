@@ -55,4 +55,9 @@ public class ProductSearchCommand {
     private String sortBy;
     
     private String sortDirection;
+    
+    /**
+     * Límites ascendentes de los rangos de la faceta de precios; solo con facetas
+     */
+    private List<BigDecimal> priceBuckets;
 } 
\ No newline at end of file
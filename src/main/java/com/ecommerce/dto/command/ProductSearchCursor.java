@@ -0,0 +1,56 @@
+package com.ecommerce.dto.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Generated;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición de la última fila entregada en la búsqueda paginada por cursor (keyset)
+ * Se serializa como un token opaco Base64 URL-safe con el par (product_id, name)
+ */
+@Data
+@Generated
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private String lastName;
+
+    private Long lastId;
+
+    /**
+     * Codifica el cursor como token opaco para el cliente
+     */
+    public String encode() {
+        String raw = lastId + String.valueOf(SEPARATOR) + lastName;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token recibido del cliente
+     * Un token nulo o vacío representa el inicio de la búsqueda
+     */
+    public static ProductSearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Cursor de búsqueda inválido: " + token);
+            }
+            Long lastId = Long.valueOf(raw.substring(0, separator));
+            return new ProductSearchCursor(raw.substring(separator + 1), lastId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de búsqueda inválido: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.dto.projection;
+
+/**
+ * Interfaz de proyección para el conteo de productos activos por categoría
+ * 
+ * 
+ */
+public interface CategoryProductCountProjection {
+    
+    /**
+     * @return ID de la categoría
+     */
+    Long getCategoryId();
+    
+    /**
+     * @return Cantidad de productos activos asociados a la categoría
+     */
+    Integer getProductCount();
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interfaz de proyección con los datos que determinan la versión de una categoría
+ * Se usa para responder GET condicionales sin cargar la entidad
+ */
+public interface CategoryVersionProjection {
+    
+    /**
+     * @return ID de la categoría
+     */
+    Long getId();
+    
+    /**
+     * @return Última modificación de la categoría (fecha de creación si nunca se actualizó)
+     */
+    LocalDateTime getUpdatedAt();
+    
+    /**
+     * @return Cantidad de productos activos asociados a la categoría
+     */
+    Integer getProductCount();
+}
@@ -2,6 +2,7 @@ package com.ecommerce.dto.projection;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Interfaz de proyección para mapear los resultados de la búsqueda nativa de productos
@@ -82,12 +83,12 @@ public interface ProductSearchProjection {
     LocalDateTime getUpdatedAt();
     
     /**
-     * @return Nombres de las categorías concatenadas
+     * @return Nombres de las categorías, en el mismo orden que getCategoryIds (vacía si no tiene)
      */
-    String getCategoryNames();
+    List<String> getCategoryNames();
     
     /**
-     * @return IDs de las categorías concatenadas
+     * @return IDs de las categorías en orden ascendente (vacía si no tiene)
      */
-    String getCategoryIds();
+    List<Long> getCategoryIds();
 } 
\ No newline at end of file
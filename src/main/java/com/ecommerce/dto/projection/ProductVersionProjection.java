@@ -0,0 +1,25 @@
+package com.ecommerce.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interfaz de proyección con las marcas de tiempo que determinan la versión de un producto
+ * Se usa para responder GET condicionales sin cargar la entidad ni sus categorías
+ */
+public interface ProductVersionProjection {
+    
+    /**
+     * @return ID del producto
+     */
+    Long getId();
+    
+    /**
+     * @return Última modificación del producto (fecha de creación si nunca se actualizó)
+     */
+    LocalDateTime getUpdatedAt();
+    
+    /**
+     * @return Última modificación entre sus categorías, null si no tiene categorías
+     */
+    LocalDateTime getCategoriesUpdatedAt();
+}
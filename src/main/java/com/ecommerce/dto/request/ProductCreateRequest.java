@@ -67,4 +67,7 @@ public class ProductCreateRequest {
     
     @Schema(description = "IDs de las categorías del producto", example = "[1, 2, 3]")
     private List<Long> categoryIds;
+    
+    @Schema(description = "Solo en actualización: versión leída del producto; si cambió se responde 409", example = "3")
+    private Long version;
 } 
\ No newline at end of file
@@ -96,4 +96,26 @@ public class ProductSearchRequest {
     @Max(value = 100, message = "El tamaño de página no puede ser mayor a 100")
     @Schema(description = "Tamaño de página", example = "10")
     private Integer size;
+    
+    @Schema(description = "Modo de paginación: por número de página (offset) o por cursor (keyset)", 
+            example = "offset", 
+            allowableValues = {"offset", "cursor"})
+    private String paginationMode;
+    
+    @Schema(description = "Cursor opaco devuelto en la página anterior (solo en modo cursor)", 
+            example = "MTI6aVBob25lIDE0IFBybyAxMjhHQg")
+    private String cursor;
+    
+    @Schema(description = "Si se debe calcular el total de resultados en modo cursor (ejecuta un COUNT adicional)", 
+            example = "false")
+    private Boolean includeTotal;
+    
+    @Schema(description = "Si se deben calcular facetas (marca, categoría y rango de precio) sobre el resultado completo", 
+            example = "false")
+    private Boolean includeFacets;
+    
+    @Size(max = 20, message = "Se permiten como máximo 20 límites de precio")
+    @Schema(description = "Límites ascendentes de los rangos de precio de la faceta (por defecto ecommerce.search.facets.price-buckets)", 
+            example = "[500000, 1000000, 3000000]")
+    private List<@NotNull @DecimalMin(value = "0.0", message = "Los límites de precio no pueden ser negativos") BigDecimal> priceBuckets;
 } 
\ No newline at end of file
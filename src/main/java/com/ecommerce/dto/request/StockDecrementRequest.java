@@ -0,0 +1,29 @@
+package com.ecommerce.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de request para descontar stock de un producto
+ * 
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cantidad a descontar del stock de un producto")
+public class StockDecrementRequest {
+    
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 1, message = "La cantidad debe ser mayor a 0")
+    @Max(value = 1000000, message = "La cantidad no puede exceder 1000000")
+    @Schema(description = "Unidades a descontar", example = "1", required = true)
+    private Integer quantity;
+}
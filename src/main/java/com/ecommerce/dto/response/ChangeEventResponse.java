@@ -0,0 +1,41 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de response para un evento del feed de cambios
+ *
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cambio de un producto o una categoría")
+public class ChangeEventResponse {
+
+    @Schema(description = "ID del evento (para descartar duplicados)", example = "1520")
+    private Long eventId;
+
+    @Schema(description = "Posición en el feed, creciente en orden de publicación", example = "1498")
+    private Long position;
+
+    @Schema(description = "Tipo de entidad", example = "PRODUCT", allowableValues = {"PRODUCT", "CATEGORY"})
+    private String entityType;
+
+    @Schema(description = "ID de la entidad modificada", example = "42")
+    private Long entityId;
+
+    @Schema(description = "Tipo de cambio (DELETED = desactivada)", example = "UPDATED",
+            allowableValues = {"CREATED", "UPDATED", "DELETED"})
+    private String operation;
+
+    @Schema(description = "Fecha de la escritura", example = "2023-01-20T14:45:00")
+    private LocalDateTime occurredAt;
+}
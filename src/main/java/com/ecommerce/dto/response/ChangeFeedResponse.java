@@ -0,0 +1,31 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de response para una página del feed de cambios
+ *
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cambios publicados después de la posición solicitada")
+public class ChangeFeedResponse {
+
+    @Schema(description = "Cambios en orden del feed")
+    private List<ChangeEventResponse> changes;
+
+    @Schema(description = "Posición a enviar como since en la siguiente petición", example = "1498")
+    private Long nextCursor;
+
+    @Schema(description = "Si hay más cambios publicados después de esta página", example = "false")
+    private Boolean hasMore;
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de response para un valor de faceta de búsqueda y su cantidad de productos
+ *
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Valor de faceta y cantidad de productos que lo tienen")
+public class FacetCountResponse {
+
+    @Schema(description = "ID del valor (solo en la faceta de categorías)", example = "2")
+    private Long id;
+
+    @Schema(description = "Valor de la faceta (marca o nombre de categoría)", example = "Apple")
+    private String value;
+
+    @Schema(description = "Cantidad de productos del resultado con este valor", example = "12")
+    private Long count;
+}
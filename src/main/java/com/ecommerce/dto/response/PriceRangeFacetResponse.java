@@ -0,0 +1,31 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de response para un rango de precio de la faceta de precios
+ *
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Rango de precio [min, max) y cantidad de productos en él")
+public class PriceRangeFacetResponse {
+
+    @Schema(description = "Precio mínimo incluido (nulo en el primer rango)", example = "500000")
+    private BigDecimal min;
+
+    @Schema(description = "Precio máximo excluido (nulo en el último rango)", example = "1000000")
+    private BigDecimal max;
+
+    @Schema(description = "Cantidad de productos del resultado en el rango", example = "7")
+    private Long count;
+}
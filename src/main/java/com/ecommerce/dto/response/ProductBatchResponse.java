@@ -0,0 +1,28 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de response para la consulta de varios productos por ID
+ *
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Productos solicitados por ID, en el orden pedido")
+public class ProductBatchResponse {
+
+    @Schema(description = "Productos encontrados en el orden de ids (sin repetidos)")
+    private List<ProductResponse> products;
+
+    @Schema(description = "IDs solicitados que no existen", example = "[999]")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de response para la búsqueda de productos paginada por cursor (keyset)
+ *
+ * La misma instancia puede llegar a varias llamadas agrupadas por single-flight:
+ * para agregar facetas se copia con toBuilder() en lugar de modificarla
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Página de resultados de búsqueda paginada por cursor")
+public class ProductCursorPageResponse<T> {
+
+    @Schema(description = "Productos de la página actual (proyección completa o solo los campos de fields=)")
+    private List<T> content;
+
+    @Schema(description = "Tamaño de página solicitado", example = "10")
+    private Integer size;
+
+    @Schema(description = "Cantidad de productos en la página actual", example = "10")
+    private Integer numberOfElements;
+
+    @Schema(description = "Si existen más resultados después de esta página", example = "true")
+    private Boolean hasNext;
+
+    @Schema(description = "Cursor para solicitar la siguiente página (nulo si no hay más resultados)",
+            example = "MTI6aVBob25lIDE0IFBybyAxMjhHQg")
+    private String nextCursor;
+
+    @Schema(description = "Total de resultados (solo si se solicitó con includeTotal)", example = "250")
+    private Long totalElements;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Facetas del resultado completo (solo si se solicitaron con includeFacets)")
+    private ProductFacetsResponse facets;
+}
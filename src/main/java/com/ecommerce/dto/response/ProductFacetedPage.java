@@ -0,0 +1,29 @@
+package com.ecommerce.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * Página de búsqueda por offset con las facetas del resultado
+ * Se serializa igual que una Page más la propiedad facets
+ *
+ *
+ */
+@Schema(description = "Página de resultados de búsqueda con facetas")
+public class ProductFacetedPage<T> extends PageImpl<T> {
+
+    private final transient ProductFacetsResponse facets;
+
+    public ProductFacetedPage(Page<T> page, ProductFacetsResponse facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Facetas del resultado (solo si se solicitaron con includeFacets)")
+    public ProductFacetsResponse getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de response con las facetas de una búsqueda de productos
+ * Se calculan sobre el mismo conjunto filtrado que los resultados, sin paginar
+ *
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Facetas de la búsqueda: cantidades por marca, categoría y rango de precio")
+public class ProductFacetsResponse {
+
+    @Schema(description = "Cantidad de productos por marca, de mayor a menor")
+    private List<FacetCountResponse> brands;
+
+    @Schema(description = "Cantidad de productos por categoría activa, de mayor a menor")
+    private List<FacetCountResponse> categories;
+
+    @Schema(description = "Cantidad de productos por rango de precio, en orden ascendente (incluye rangos vacíos)")
+    private List<PriceRangeFacetResponse> priceRanges;
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de response para la importación masiva de productos
+ *
+ *
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de la importación masiva de productos")
+public class ProductImportResponse {
+
+    @Schema(description = "Filas de datos procesadas (sin contar encabezado ni líneas vacías)", example = "50000")
+    private Long processedRows;
+
+    @Schema(description = "Productos insertados", example = "49990")
+    private Long importedRows;
+
+    @Schema(description = "Filas rechazadas", example = "10")
+    private Long failedRows;
+
+    @Schema(description = "Errores por fila (limitado a ecommerce.import.max-reported-errors)")
+    private List<RowError> errors;
+
+    @Schema(description = "Si se omitieron errores por superar el límite reportado", example = "false")
+    private Boolean errorsTruncated;
+
+    /**
+     * Error de una fila de la importación
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Error de una fila de la importación")
+    public static class RowError {
+
+        @Schema(description = "Número de línea en el archivo (base 1)", example = "42")
+        private Long line;
+
+        @Schema(description = "Motivo del rechazo", example = "price: El precio es obligatorio")
+        private String message;
+    }
+}
@@ -13,12 +13,12 @@ import java.util.List;
 /**
  * DTO de response para información de producto
  * 
- * 
+ * La caché de productos guarda instancias sin productCount; cada llamada recibe una copia (toBuilder)
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Información de respuesta del producto")
 public class ProductResponse {
     
@@ -64,6 +64,9 @@ public class ProductResponse {
     @Schema(description = "Fecha de última actualización", example = "2023-01-20T14:45:00")
     private LocalDateTime updatedAt;
     
+    @Schema(description = "Versión para bloqueo optimista (enviarla en PUT /products/{id})", example = "3")
+    private Long version;
+    
     @Schema(description = "Categorías del producto")
     private List<CategoryResponse> categories;
 } 
\ No newline at end of file
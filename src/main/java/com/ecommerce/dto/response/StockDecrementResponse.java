@@ -0,0 +1,29 @@
+package com.ecommerce.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de response para el descuento de stock
+ * 
+ * 
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado del descuento de stock")
+public class StockDecrementResponse {
+    
+    @Schema(description = "ID del producto", example = "1")
+    private Long productId;
+    
+    @Schema(description = "Unidades descontadas", example = "1")
+    private Integer quantity;
+    
+    @Schema(description = "Stock restante después del descuento", example = "49")
+    private Integer remainingStock;
+}
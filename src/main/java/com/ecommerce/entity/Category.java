@@ -1,10 +1,17 @@
 package com.ecommerce.entity;
 
+import com.ecommerce.config.HibernateCacheConfig;
+import com.ecommerce.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -17,6 +24,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CATEGORY_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +35,9 @@ import java.util.Set;
 public class Category {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "categories_seq")
+    @GenericGenerator(name = "categories_seq", type = PooledSequenceGenerator.class,
+                      parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "categories_seq"))
     @Column(name = "category_id")
     private Long id;
     
@@ -0,0 +1,26 @@
+package com.ecommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Contador de productos activos por categoría
+ * 
+ * Se mantiene de forma incremental en la misma transacción que las escrituras de productos
+ * (ver CategoryProductCountResolver), así productCount se lee sin agregar sobre products.
+ */
+@Entity
+@Table(name = "category_product_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryProductCount {
+    
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+    
+    @Column(name = "active_product_count", nullable = false)
+    private Integer activeProductCount;
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.entity;
+
+import com.ecommerce.config.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio del outbox transaccional
+ * 
+ * Se inserta en la misma transacción que la escritura del producto o la categoría;
+ * feedPosition y publishedAt se asignan al publicarlo (ver ChangeOutboxService).
+ */
+@Entity
+@Table(name = "change_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEvent {
+    
+    @Id
+    @GeneratedValue(generator = "change_events_seq")
+    @GenericGenerator(name = "change_events_seq", type = PooledSequenceGenerator.class,
+                      parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "change_events_seq"))
+    @Column(name = "event_id")
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 20)
+    private Operation operation;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    @Column(name = "feed_position", unique = true)
+    private Long feedPosition;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    /**
+     * Tipo de entidad modificada
+     */
+    public enum EntityType {
+        PRODUCT,
+        CATEGORY
+    }
+    
+    /**
+     * Tipo de cambio; DELETED corresponde a la desactivación (soft delete)
+     */
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
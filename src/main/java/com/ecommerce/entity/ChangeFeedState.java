@@ -0,0 +1,31 @@
+package com.ecommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Estado del feed de cambios: última posición asignada a un evento publicado
+ * 
+ * Una sola fila; el publicador la bloquea (SELECT ... FOR UPDATE) mientras asigna posiciones,
+ * así varias instancias publican en serie y las posiciones crecen en orden de commit.
+ */
+@Entity
+@Table(name = "change_feed_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedState {
+    
+    /**
+     * ID de la única fila de estado
+     */
+    public static final int SINGLETON_ID = 1;
+    
+    @Id
+    @Column(name = "state_id")
+    private Integer id;
+    
+    @Column(name = "last_position", nullable = false)
+    private Long lastPosition;
+}
@@ -1,10 +1,18 @@
 package com.ecommerce.entity;
 
+import com.ecommerce.config.HibernateCacheConfig;
+import com.ecommerce.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +23,9 @@ import java.util.Set;
  * Entidad que representa un producto del e-commerce
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_name_id", columnList = "name, product_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,7 +35,9 @@ import java.util.Set;
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "products_seq")
+    @GenericGenerator(name = "products_seq", type = PooledSequenceGenerator.class,
+                      parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "products_seq"))
     @Column(name = "product_id")
     private Long id;
     
@@ -85,15 +97,32 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    /**
+     * Bloqueo optimista: las actualizaciones completas fallan si otra escritura
+     * (incluido el descuento atómico de stock) modificó el producto después de leerlo
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     /**
      * Relación Many-to-Many con Categories
      * Un producto puede pertenecer a múltiples categorías
+     * Se inicializa por lotes para evitar una consulta por producto al mapear páginas;
+     * los IDs de categorías de cada producto quedan en la caché de segundo nivel
      */
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PRODUCT_CATEGORIES_REGION)
     @JoinTable(
         name = "product_categories",
         joinColumns = @JoinColumn(name = "product_id"),
-        inverseJoinColumns = @JoinColumn(name = "category_id")
+        inverseJoinColumns = @JoinColumn(name = "category_id"),
+        indexes = {
+            @Index(name = "idx_product_categories_category", columnList = "category_id"),
+            // La PK generada por Hibernate es (category_id, product_id); en el esquema de Flyway la PK ya cubre product_id
+            @Index(name = "idx_product_categories_product", columnList = "product_id")
+        }
     )
     @Builder.Default
     private Set<Category> categories = new HashSet<>();
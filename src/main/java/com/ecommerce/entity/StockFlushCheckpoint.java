@@ -0,0 +1,26 @@
+package com.ecommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Último volcado de stock en memoria confirmado por cada instancia (perfil hot-stock)
+ * 
+ * Se actualiza en la misma transacción que descuenta el stock en products; al reiniciar,
+ * los volcados del journal con ID mayor a lastFlushId no llegaron a la base de datos.
+ */
+@Entity
+@Table(name = "stock_flush_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockFlushCheckpoint {
+    
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+    
+    @Column(name = "last_flush_id", nullable = false)
+    private Long lastFlushId;
+}
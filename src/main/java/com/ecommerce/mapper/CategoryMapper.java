@@ -39,8 +39,10 @@ public interface CategoryMapper {
     
     /**
      * Convierte una entidad Category a CategoryResponse
+     * No accede a Category.products: productCount se completa con los contadores
+     * de productos activos (ver CategoryProductCountResolver)
      */
-    @Mapping(target = "productCount", expression = "java(category.getProducts() != null ? category.getProducts().size() : 0)")
+    @Mapping(target = "productCount", ignore = true)
     CategoryResponse toResponse(Category category);
     
     /**
@@ -21,6 +21,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "featured", defaultValue = "false")
@@ -32,6 +33,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "active", defaultValue = "true")
     @Mapping(target = "featured", defaultValue = "false")
@@ -54,6 +56,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "active", ignore = true)
     void updateEntity(ProductCreateRequest request, @MappingTarget Product product);
@@ -64,6 +67,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "active", ignore = true)
     void updateEntityFromCommand(ProductCreateCommand command, @MappingTarget Product product);
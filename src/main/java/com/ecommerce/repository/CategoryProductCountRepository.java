@@ -0,0 +1,86 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.projection.CategoryProductCountProjection;
+import com.ecommerce.entity.CategoryProductCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de los contadores de productos activos por categoría
+ * Las modificaciones deben ejecutarse dentro de la transacción de la escritura de productos
+ */
+@Repository
+public interface CategoryProductCountRepository extends JpaRepository<CategoryProductCount, Long> {
+    
+    /**
+     * Recuento de productos activos por categoría a partir de product_categories
+     * Los INSERT nativos declaran la tabla afectada (HINT_NATIVE_SPACES); sin ella Hibernate
+     * vaciaría todas las regiones de la caché de segundo nivel
+     */
+    String RECOUNT_SELECT = """
+            SELECT c.category_id,
+                   (SELECT COUNT(*) FROM product_categories pc
+                      JOIN products p ON p.product_id = pc.product_id
+                     WHERE pc.category_id = c.category_id AND p.active = true) AS active_product_count
+              FROM categories c
+            """;
+    
+    String RECOUNT_SQL = "INSERT INTO category_product_counts (category_id, active_product_count) " + RECOUNT_SELECT;
+    
+    /**
+     * Lee los contadores de un conjunto de categorías
+     * Proyección y no entidades: siempre refleja las actualizaciones masivas de la transacción
+     */
+    @Query("SELECT c.categoryId AS categoryId, c.activeProductCount AS productCount " +
+           "FROM CategoryProductCount c WHERE c.categoryId IN :categoryIds")
+    List<CategoryProductCountProjection> findCountsByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+    
+    /**
+     * Suma delta al contador de la categoría de forma atómica
+     * @return filas actualizadas (0 si la categoría aún no tiene contador)
+     */
+    @Modifying
+    @Query("UPDATE CategoryProductCount c SET c.activeProductCount = c.activeProductCount + :delta " +
+           "WHERE c.categoryId = :categoryId")
+    int addToActiveProductCount(@Param("categoryId") Long categoryId, @Param("delta") int delta);
+    
+    /**
+     * Crea el contador de una categoría con el recuento actual, si no existe (PostgreSQL)
+     * ON CONFLICT espera a la transacción que lo esté creando en paralelo en lugar de fallar por clave duplicada
+     * @return filas insertadas (0 si otra transacción ya lo creó)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "category_product_counts"))
+    @Query(value = RECOUNT_SQL + " WHERE c.category_id = :categoryId ON CONFLICT (category_id) DO NOTHING",
+           nativeQuery = true)
+    int insertRecountedCountIfAbsent(@Param("categoryId") Long categoryId);
+    
+    /**
+     * Igual que insertRecountedCountIfAbsent con MERGE, para H2 (no soporta ON CONFLICT)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "category_product_counts"))
+    @Query(value = "MERGE INTO category_product_counts t USING (" + RECOUNT_SELECT +
+                   " WHERE c.category_id = :categoryId) r ON t.category_id = r.category_id " +
+                   "WHEN NOT MATCHED THEN INSERT (category_id, active_product_count) " +
+                   "VALUES (r.category_id, r.active_product_count)",
+           nativeQuery = true)
+    int mergeRecountedCountIfAbsent(@Param("categoryId") Long categoryId);
+    
+    /**
+     * Crea los contadores de todas las categorías con el recuento actual (la tabla debe estar vacía)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "category_product_counts"))
+    @Query(value = RECOUNT_SQL, nativeQuery = true)
+    int insertRecountedCounts();
+}
@@ -1,10 +1,15 @@
 package com.ecommerce.repository;
 
+import com.ecommerce.dto.projection.CategoryVersionProjection;
 import com.ecommerce.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,6 +28,15 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     Optional<Category> findByName(String name);
     
+    /**
+     * Obtiene solo la marca de tiempo y el contador de productos activos de la categoría
+     * Consulta liviana para validar ETag/Last-Modified sin hidratar la entidad
+     */
+    @Query("SELECT c.id AS id, COALESCE(c.updatedAt, c.createdAt) AS updatedAt, " +
+           "COALESCE(pc.activeProductCount, 0) AS productCount FROM Category c " +
+           "LEFT JOIN CategoryProductCount pc ON pc.categoryId = c.id WHERE c.id = :id")
+    Optional<CategoryVersionProjection> findVersionById(@Param("id") Long id);
+    
     /**
      * Verifica si existe una categoría con el nombre dado
      */
@@ -45,7 +59,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     /**
      * Busca todas las categorías activas ordenadas por nombre
+     * Resultado en la caché de consultas de Hibernate, invalidado ante cualquier escritura en categories
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByActiveTrueOrderByNameAsc();
     
     /**
@@ -55,9 +71,11 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findCategoriesWithActiveProducts();
     
     /**
-     * Cuenta la cantidad de productos por categoría
+     * Cantidad de productos activos por categoría activa
+     * Lee los contadores mantenidos en category_product_counts, sin agregar sobre products
      */
-    @Query("SELECT c.id, c.name, COUNT(p) FROM Category c LEFT JOIN c.products p " +
-           "WHERE c.active = true GROUP BY c.id, c.name ORDER BY COUNT(p) DESC")
+    @Query("SELECT c.id, c.name, COALESCE(pc.activeProductCount, 0) FROM Category c " +
+           "LEFT JOIN CategoryProductCount pc ON pc.categoryId = c.id " +
+           "WHERE c.active = true ORDER BY COALESCE(pc.activeProductCount, 0) DESC")
     List<Object[]> findCategoriesWithProductCount();
 } 
\ No newline at end of file
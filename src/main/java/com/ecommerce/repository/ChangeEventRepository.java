@@ -0,0 +1,38 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.entity.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio del outbox de cambios
+ */
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+    
+    /**
+     * Eventos aún no publicados, en orden de inserción
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE e.feedPosition IS NULL ORDER BY e.id ASC")
+    List<ChangeEvent> findPending(Pageable pageable);
+    
+    /**
+     * Eventos publicados después de la posición indicada, en orden del feed
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE e.feedPosition > :since ORDER BY e.feedPosition ASC")
+    List<ChangeEvent> findPublishedAfter(@Param("since") Long since, Pageable pageable);
+    
+    /**
+     * Elimina los eventos publicados antes de la fecha indicada (retención del feed)
+     */
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
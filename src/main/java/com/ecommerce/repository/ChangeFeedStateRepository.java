@@ -0,0 +1,25 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.entity.ChangeFeedState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio del estado del feed de cambios
+ */
+@Repository
+public interface ChangeFeedStateRepository extends JpaRepository<ChangeFeedState, Integer> {
+    
+    /**
+     * Lee el estado bloqueando la fila hasta el fin de la transacción
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ChangeFeedState s WHERE s.id = :id")
+    Optional<ChangeFeedState> findForUpdate(@Param("id") Integer id);
+}
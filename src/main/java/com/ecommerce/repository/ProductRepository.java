@@ -1,78 +1,80 @@
 package com.ecommerce.repository;
 
-import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.projection.ProductVersionProjection;
 import com.ecommerce.entity.Product;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para la entidad Product
- * Incluye query nativa especial con countQuery y proyección a interfaz
+ * La búsqueda avanzada con SQL nativo, countQuery y proyección a interfaz
+ * se implementa en el fragmento ProductSearchRepository
  * Optimizado para PostgreSQL
  * 
  * 
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductSearchRepository {
     
     /**
-     * Búsqueda avanzada de productos usando query nativa con countQuery
-     * Los resultados se mapean a la interfaz ProductSearchProjection
-     * Este es el endpoint especial solicitado con el patrón request
-     * Query simplificada para demostrar conocimiento de SQL nativo
+     * Busca un producto por ID cargando sus categorías en la misma consulta
      */
-    @Query(value = """
-        SELECT 
-            p.product_id as id,
-            p.name as name,
-            p.description as description,
-            p.price as price,
-            p.stock as stock,
-            p.image_url as imageUrl,
-            p.brand as brand,
-            p.model as model,
-            p.weight as weight,
-            p.dimensions as dimensions,
-            p.active as active,
-            p.featured as featured,
-            p.created_at as createdAt,
-            p.updated_at as updatedAt,
-            '' as categoryNames,
-            '' as categoryIds
-        FROM products p
-        WHERE p.active = true
-            AND (:name IS NULL OR p.name ILIKE '%' || :name || '%')
-            AND (:brand IS NULL OR p.brand ILIKE '%' || :brand || '%')
-            AND (:minPrice IS NULL OR p.price >= :minPrice)
-            AND (:maxPrice IS NULL OR p.price <= :maxPrice)
-            AND (:minStock IS NULL OR p.stock >= :minStock)
-        ORDER BY p.name ASC
-        """,
-        countQuery = """
-        SELECT COUNT(p.product_id)
-        FROM products p
-        WHERE p.active = true
-            AND (:name IS NULL OR p.name ILIKE '%' || :name || '%')
-            AND (:brand IS NULL OR p.brand ILIKE '%' || :brand || '%')
-            AND (:minPrice IS NULL OR p.price >= :minPrice)
-            AND (:maxPrice IS NULL OR p.price <= :maxPrice)
-            AND (:minStock IS NULL OR p.stock >= :minStock)
-        """,
-        nativeQuery = true)
-    Page<ProductSearchProjection> searchProducts(
-            @Param("name") String name,
-            @Param("brand") String brand,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("minStock") Integer minStock,
-            Pageable pageable);
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findWithCategoriesById(Long id);
+    
+    /**
+     * Obtiene solo las marcas de tiempo del producto y de sus categorías
+     * Consulta liviana para validar ETag/Last-Modified sin hidratar la entidad
+     */
+    @Query("SELECT p.id AS id, COALESCE(p.updatedAt, p.createdAt) AS updatedAt, " +
+           "MAX(COALESCE(c.updatedAt, c.createdAt)) AS categoriesUpdatedAt " +
+           "FROM Product p LEFT JOIN p.categories c WHERE p.id = :id " +
+           "GROUP BY p.id, p.updatedAt, p.createdAt")
+    Optional<ProductVersionProjection> findVersionById(@Param("id") Long id);
+    
+    /**
+     * Descuento de stock con un único UPDATE condicional, sin cargar la entidad
+     * Solo afecta la fila si el producto está activo y tiene stock suficiente; incrementa version
+     * para que una actualización completa concurrente falle en lugar de sobrescribir el stock
+     */
+    String DECREMENT_STOCK_SQL = """
+            UPDATE products
+               SET stock = stock - :quantity, version = version + 1, updated_at = :now
+             WHERE product_id = :id AND active = true AND stock >= :quantity
+            """;
+    
+    /**
+     * Descuenta stock y devuelve el restante en la misma sentencia (PostgreSQL, UPDATE ... RETURNING)
+     * 
+     * @return stock restante, vacío si no existe, está inactivo o no hay stock suficiente
+     */
+    @Query(value = DECREMENT_STOCK_SQL + " RETURNING stock", nativeQuery = true)
+    Optional<Integer> decrementStockReturningRemaining(@Param("id") Long id,
+                                                       @Param("quantity") int quantity,
+                                                       @Param("now") LocalDateTime now);
+    
+    /**
+     * Igual que decrementStockReturningRemaining para H2, que no soporta RETURNING (SELECT ... FROM FINAL TABLE)
+     */
+    @Query(value = "SELECT stock FROM FINAL TABLE (" + DECREMENT_STOCK_SQL + ")", nativeQuery = true)
+    Optional<Integer> decrementStockFromFinalTable(@Param("id") Long id,
+                                                   @Param("quantity") int quantity,
+                                                   @Param("now") LocalDateTime now);
+    
+    /**
+     * Stock de un producto activo, sin cargar la entidad
+     */
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :id AND p.active = true")
+    Optional<Integer> findActiveStockById(@Param("id") Long id);
     
     /**
      * Encuentra productos por categoría
@@ -81,12 +83,42 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCategoryId(@Param("categoryId") Long categoryId);
     
     /**
-     * Encuentra productos destacados
+     * Obtiene los IDs de todos los productos asociados a una categoría
+     * Se usa para invalidar con precisión la caché de productos cuando cambia la categoría
+     */
+    @Query("SELECT p.id FROM Product p JOIN p.categories c WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+    
+    /**
+     * Busca productos por IDs cargando sus categorías en la misma consulta (sin orden garantizado)
+     */
+    @EntityGraph(attributePaths = "categories")
+    List<Product> findWithCategoriesByIdIn(Collection<Long> ids);
+    
+    /**
+     * IDs de productos destacados activos, más recientes primero
+     * Solo IDs para que la paginación se aplique en la base de datos y no sobre el JOIN de categorías
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.featured = true AND p.active = true " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeaturedIds(Pageable pageable);
+    
+    /**
+     * Cantidad total de productos destacados activos
+     */
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.featured = true AND p.active = true")
+    long countFeatured();
+    
+    /**
+     * IDs de productos activos con stock menor al umbral, menor stock primero
      */
-    List<Product> findByFeaturedTrueAndActiveTrueOrderByCreatedAtDesc();
+    @Query("SELECT p.id FROM Product p WHERE p.stock < :threshold AND p.active = true " +
+           "ORDER BY p.stock ASC, p.id ASC")
+    List<Long> findLowStockIds(@Param("threshold") Integer threshold, Pageable pageable);
     
     /**
-     * Encuentra productos con stock bajo
+     * Cantidad total de productos activos con stock menor al umbral
      */
-    List<Product> findByStockLessThanAndActiveTrueOrderByStockAsc(Integer stock);
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.stock < :threshold AND p.active = true")
+    long countLowStock(@Param("threshold") Integer threshold);
 } 
\ No newline at end of file
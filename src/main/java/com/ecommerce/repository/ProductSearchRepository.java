@@ -0,0 +1,76 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.command.ProductField;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.command.ProductSearchCursor;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.response.ProductFacetsResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Fragmento de repositorio para la búsqueda avanzada de productos con SQL nativo
+ * Los predicados dependen del motor de búsqueda configurado (ecommerce.search.engine)
+ *
+ *
+ */
+public interface ProductSearchRepository {
+
+    /**
+     * Búsqueda paginada por offset con countQuery separada
+     * Con texto libre y motor postgres los resultados se ordenan por relevancia
+     */
+    Page<ProductSearchProjection> searchProducts(ProductSearchCommand command, Pageable pageable);
+
+    /**
+     * Búsqueda paginada por cursor (keyset) sobre el par (name, product_id)
+     */
+    List<ProductSearchProjection> searchProductsAfter(ProductSearchCommand command,
+                                                      ProductSearchCursor after, int limit);
+
+    /**
+     * Cuenta los productos que cumplen los criterios de búsqueda
+     */
+    long countSearchProducts(ProductSearchCommand command);
+
+    /**
+     * Facetas (marca, categoría y rango de precio) del conjunto que cumple los criterios, en una sola consulta
+     */
+    ProductFacetsResponse searchFacets(ProductSearchCommand command, List<BigDecimal> priceBuckets);
+
+    /**
+     * Búsqueda paginada por offset que lee solo las columnas de los campos indicados
+     * Cada fila es un mapa propiedad -> valor en el orden de ProductField
+     */
+    Page<Map<String, Object>> searchProductFields(ProductSearchCommand command, Pageable pageable,
+                                                  Set<ProductField> fields);
+
+    /**
+     * Búsqueda por cursor (keyset) que lee solo las columnas de los campos indicados
+     */
+    List<Map<String, Object>> searchProductFieldsAfter(ProductSearchCommand command, ProductSearchCursor after,
+                                                       int limit, Set<ProductField> fields);
+
+    /**
+     * Página de todos los productos ordenados por ID con solo las columnas de los campos indicados
+     */
+    Page<Map<String, Object>> findProductFields(Pageable pageable, Set<ProductField> fields);
+
+    /**
+     * Un producto por ID con solo las columnas de los campos indicados
+     */
+    Optional<Map<String, Object>> findProductFieldsById(Long id, Set<ProductField> fields);
+
+    /**
+     * Recorre todos los productos activos ordenados por ID con un cursor del servidor (fetch size)
+     * El Stream debe cerrarse y consumirse dentro de una transacción
+     */
+    Stream<ProductSearchProjection> streamActiveProducts(int fetchSize);
+}
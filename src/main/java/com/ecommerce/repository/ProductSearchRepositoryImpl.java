@@ -0,0 +1,248 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.config.JdbcTimestamps;
+import com.ecommerce.dto.command.ProductField;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.command.ProductSearchCursor;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.response.FacetCountResponse;
+import com.ecommerce.dto.response.PriceRangeFacetResponse;
+import com.ecommerce.dto.response.ProductFacetsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Implementación JDBC de la búsqueda avanzada de productos con SQL nativo
+ * La consulta y los filtros por motor de búsqueda se construyen en ProductSearchSql
+ */
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ProductSearchSql searchSql;
+    private final JdbcTimestamps timestamps;
+
+    public ProductSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                       @Value("${ecommerce.search.engine:postgres}") String engine,
+                                       JdbcTimestamps timestamps) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchSql = new ProductSearchSql(engine);
+        this.timestamps = timestamps;
+    }
+
+    @Override
+    public Page<ProductSearchProjection> searchProducts(ProductSearchCommand command, Pageable pageable) {
+        Map<String, Object> values = new HashMap<>();
+        String where = searchSql.where(command, values);
+        MapSqlParameterSource params = new MapSqlParameterSource(values);
+
+        params.addValue("limit", pageable.getPageSize());
+        params.addValue("offset", pageable.getOffset());
+        List<ProductSearchProjection> content = jdbcTemplate.query(
+                ProductSearchSql.SELECT_COLUMNS + where + searchSql.orderBy(command) + " LIMIT :limit OFFSET :offset",
+                params, projectionRowMapper());
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(where, params));
+    }
+
+    @Override
+    public List<ProductSearchProjection> searchProductsAfter(ProductSearchCommand command,
+                                                             ProductSearchCursor after, int limit) {
+        Map<String, Object> values = new HashMap<>();
+        String where = searchSql.whereAfter(command, after, values);
+        MapSqlParameterSource params = new MapSqlParameterSource(values);
+
+        params.addValue("limit", limit);
+        return jdbcTemplate.query(
+                ProductSearchSql.SELECT_COLUMNS + where + ProductSearchSql.KEYSET_ORDER_BY + " LIMIT :limit",
+                params, projectionRowMapper());
+    }
+
+    @Override
+    public long countSearchProducts(ProductSearchCommand command) {
+        Map<String, Object> values = new HashMap<>();
+        String where = searchSql.where(command, values);
+        return count(where, new MapSqlParameterSource(values));
+    }
+
+    @Override
+    public ProductFacetsResponse searchFacets(ProductSearchCommand command, List<BigDecimal> priceBuckets) {
+        Map<String, Object> values = new HashMap<>();
+        String sql = searchSql.facets(command, priceBuckets, values);
+
+        List<FacetCountResponse> brands = new ArrayList<>();
+        List<FacetCountResponse> categories = new ArrayList<>();
+        long[] priceCounts = new long[priceBuckets.size() + 1];
+        jdbcTemplate.query(sql, new MapSqlParameterSource(values), rs -> {
+            String key = rs.getString("facetKey");
+            long count = rs.getLong("facetCount");
+            switch (rs.getString("facet")) {
+                case "brand" -> brands.add(new FacetCountResponse(null, key, count));
+                case "category" -> categories.add(new FacetCountResponse(Long.valueOf(key), rs.getString("facetLabel"), count));
+                default -> priceCounts[Integer.parseInt(key)] = count;
+            }
+        });
+
+        Comparator<FacetCountResponse> byCount = Comparator.comparing(FacetCountResponse::getCount).reversed()
+                .thenComparing(FacetCountResponse::getValue);
+        brands.sort(byCount);
+        categories.sort(byCount);
+
+        List<PriceRangeFacetResponse> priceRanges = new ArrayList<>(priceCounts.length);
+        for (int i = 0; i < priceCounts.length; i++) {
+            priceRanges.add(new PriceRangeFacetResponse(
+                    i > 0 ? priceBuckets.get(i - 1) : null,
+                    i < priceBuckets.size() ? priceBuckets.get(i) : null,
+                    priceCounts[i]));
+        }
+        return new ProductFacetsResponse(brands, categories, priceRanges);
+    }
+
+    @Override
+    public Page<Map<String, Object>> searchProductFields(ProductSearchCommand command, Pageable pageable,
+                                                         Set<ProductField> fields) {
+        Map<String, Object> values = new HashMap<>();
+        String where = searchSql.where(command, values);
+        MapSqlParameterSource params = new MapSqlParameterSource(values);
+
+        params.addValue("limit", pageable.getPageSize());
+        params.addValue("offset", pageable.getOffset());
+        List<Map<String, Object>> content = jdbcTemplate.query(
+                ProductSearchSql.selectColumns(fields) + where + searchSql.orderBy(command) + " LIMIT :limit OFFSET :offset",
+                params, fieldsRowMapper(fields));
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(where, params));
+    }
+
+    @Override
+    public List<Map<String, Object>> searchProductFieldsAfter(ProductSearchCommand command, ProductSearchCursor after,
+                                                              int limit, Set<ProductField> fields) {
+        Map<String, Object> values = new HashMap<>();
+        String where = searchSql.whereAfter(command, after, values);
+        MapSqlParameterSource params = new MapSqlParameterSource(values);
+
+        params.addValue("limit", limit);
+        return jdbcTemplate.query(
+                ProductSearchSql.selectColumns(fields) + where + ProductSearchSql.KEYSET_ORDER_BY + " LIMIT :limit",
+                params, fieldsRowMapper(fields));
+    }
+
+    @Override
+    public Page<Map<String, Object>> findProductFields(Pageable pageable, Set<ProductField> fields) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        List<Map<String, Object>> content = jdbcTemplate.query(
+                ProductSearchSql.selectColumns(fields) + " ORDER BY p.product_id ASC LIMIT :limit OFFSET :offset",
+                params, fieldsRowMapper(fields));
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count("", new MapSqlParameterSource()));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProductFieldsById(Long id, Set<ProductField> fields) {
+        List<Map<String, Object>> rows = jdbcTemplate.query(
+                ProductSearchSql.selectColumns(fields) + " WHERE p.product_id = :id",
+                new MapSqlParameterSource("id", id), fieldsRowMapper(fields));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Stream<ProductSearchProjection> streamActiveProducts(int fetchSize) {
+        // JdbcTemplate propio para no cambiar el fetch size del compartido
+        JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streamingTemplate.setFetchSize(fetchSize);
+        return streamingTemplate.queryForStream(
+                ProductSearchSql.SELECT_COLUMNS + " WHERE p.active = true ORDER BY p.product_id ASC", projectionRowMapper());
+    }
+
+    private long count(String where, MapSqlParameterSource params) {
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(p.product_id) FROM products p" + where, params, Long.class);
+        return total != null ? total : 0L;
+    }
+
+    /**
+     * Mapea cada fila a un mapa propiedad -> valor con solo los campos seleccionados
+     */
+    private RowMapper<Map<String, Object>> fieldsRowMapper(Set<ProductField> fields) {
+        return (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (ProductField field : fields) {
+                row.put(field.getProperty(), readField(rs, field));
+            }
+            return row;
+        };
+    }
+
+    private Object readField(ResultSet rs, ProductField field) throws SQLException {
+        String column = field.getProperty();
+        return switch (field) {
+            case CATEGORY_IDS -> ProductSearchSql.categoryIds(array(rs, column));
+            case CATEGORY_NAMES -> ProductSearchSql.categoryNames(array(rs, column));
+            default -> field.getType() == LocalDateTime.class
+                    ? timestamps.get(rs, column)
+                    : rs.getObject(column, field.getType());
+        };
+    }
+
+    /**
+     * Elementos de una columna ARRAY (null si la subconsulta no encontró filas)
+     */
+    private static Object[] array(ResultSet rs, String column) throws SQLException {
+        Array array = rs.getArray(column);
+        if (array == null) {
+            return null;
+        }
+        try {
+            return (Object[]) array.getArray();
+        } finally {
+            array.free();
+        }
+    }
+
+    /**
+     * Mapea cada fila a la interfaz ProductSearchProjection
+     */
+    private RowMapper<ProductSearchProjection> projectionRowMapper() {
+        return (rs, rowNum) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", rs.getLong("id"));
+            row.put("name", rs.getString("name"));
+            row.put("description", rs.getString("description"));
+            row.put("price", rs.getBigDecimal("price"));
+            row.put("stock", rs.getInt("stock"));
+            row.put("imageUrl", rs.getString("imageUrl"));
+            row.put("brand", rs.getString("brand"));
+            row.put("model", rs.getString("model"));
+            row.put("weight", rs.getBigDecimal("weight"));
+            row.put("dimensions", rs.getString("dimensions"));
+            row.put("active", rs.getBoolean("active"));
+            row.put("featured", rs.getBoolean("featured"));
+            row.put("createdAt", timestamps.get(rs, "createdAt"));
+            row.put("updatedAt", timestamps.get(rs, "updatedAt"));
+            row.put("categoryNames", ProductSearchSql.categoryNames(array(rs, "categoryNames")));
+            row.put("categoryIds", ProductSearchSql.categoryIds(array(rs, "categoryIds")));
+            return ProductSearchSql.toProjection(row);
+        };
+    }
+}
@@ -0,0 +1,267 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.command.ProductField;
+import com.ecommerce.dto.command.ProductSearchCursor;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SQL nativo de la búsqueda avanzada de productos
+ *
+ * Compartido por la implementación JDBC (ProductSearchRepositoryImpl) y la reactiva
+ * (ReactiveProductRepository) para que ambas ejecuten exactamente la misma consulta.
+ * Los parámetros se expresan con nombre (:param) y se acumulan en un Map.
+ *
+ * Motores soportados (propiedad ecommerce.search.engine):
+ * - postgres: el texto libre usa full-text search (tsvector) con ranking por relevancia
+ *   y los filtros ILIKE de nombre/marca se apoyan en índices GIN pg_trgm (ver db/migration)
+ * - basic: texto libre con ILIKE sobre nombre, marca, modelo y descripción (compatible con H2)
+ *
+ * Solo se agregan al WHERE los filtros presentes, para que el planner pueda usar los índices.
+ * Las categorías de cada fila se agregan con ARRAY_AGG en la misma consulta: IDs y nombres ordenados
+ * por category_id, de modo que la posición i de ambas listas es la misma categoría.
+ * Con fields= el SELECT incluye solo las columnas de los campos pedidos (ver selectColumns).
+ * Las facetas se calculan en una sola consulta: un CTE con el conjunto filtrado y un UNION ALL
+ * de los tres GROUP BY (marca, categoría y rango de precio), ver facets.
+ */
+class ProductSearchSql {
+
+    /**
+     * Documento de texto indexado; debe coincidir exactamente con la expresión
+     * del índice idx_products_search_fts para que PostgreSQL lo utilice
+     */
+    static final String SEARCH_DOCUMENT =
+            "to_tsvector('spanish', coalesce(p.name, '') || ' ' || coalesce(p.brand, '') || ' ' || " +
+            "coalesce(p.model, '') || ' ' || coalesce(p.description, ''))";
+
+    static final String SEARCH_QUERY = "plainto_tsquery('spanish', :searchText)";
+
+    static final String SELECT_COLUMNS = """
+            SELECT
+                p.product_id as id,
+                p.name as name,
+                p.description as description,
+                p.price as price,
+                p.stock as stock,
+                p.image_url as imageUrl,
+                p.brand as brand,
+                p.model as model,
+                p.weight as weight,
+                p.dimensions as dimensions,
+                p.active as active,
+                p.featured as featured,
+                p.created_at as createdAt,
+                p.updated_at as updatedAt,
+                (SELECT ARRAY_AGG(c.name ORDER BY pc.category_id)
+                   FROM product_categories pc
+                   JOIN categories c ON c.category_id = pc.category_id
+                  WHERE pc.product_id = p.product_id) as categoryNames,
+                (SELECT ARRAY_AGG(pc.category_id ORDER BY pc.category_id)
+                   FROM product_categories pc
+                  WHERE pc.product_id = p.product_id) as categoryIds
+            FROM products p
+            """;
+
+    /**
+     * Expresión SQL de cada campo seleccionable; las de categorías son subconsultas que solo
+     * se ejecutan si se piden
+     */
+    private static final Map<ProductField, String> FIELD_COLUMNS = new EnumMap<>(Map.ofEntries(
+            Map.entry(ProductField.ID, "p.product_id"),
+            Map.entry(ProductField.NAME, "p.name"),
+            Map.entry(ProductField.DESCRIPTION, "p.description"),
+            Map.entry(ProductField.PRICE, "p.price"),
+            Map.entry(ProductField.STOCK, "p.stock"),
+            Map.entry(ProductField.IMAGE_URL, "p.image_url"),
+            Map.entry(ProductField.BRAND, "p.brand"),
+            Map.entry(ProductField.MODEL, "p.model"),
+            Map.entry(ProductField.WEIGHT, "p.weight"),
+            Map.entry(ProductField.DIMENSIONS, "p.dimensions"),
+            Map.entry(ProductField.ACTIVE, "p.active"),
+            Map.entry(ProductField.FEATURED, "p.featured"),
+            Map.entry(ProductField.CREATED_AT, "p.created_at"),
+            Map.entry(ProductField.UPDATED_AT, "p.updated_at"),
+            Map.entry(ProductField.VERSION, "p.version"),
+            Map.entry(ProductField.CATEGORY_IDS, """
+                    (SELECT ARRAY_AGG(pc.category_id ORDER BY pc.category_id)
+                       FROM product_categories pc
+                      WHERE pc.product_id = p.product_id)"""),
+            Map.entry(ProductField.CATEGORY_NAMES, """
+                    (SELECT ARRAY_AGG(c.name ORDER BY pc.category_id)
+                       FROM product_categories pc
+                       JOIN categories c ON c.category_id = pc.category_id
+                      WHERE pc.product_id = p.product_id)""")));
+
+    static final String KEYSET_ORDER_BY = " ORDER BY p.name ASC, p.product_id ASC";
+
+    private static final ProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private final Engine engine;
+
+    ProductSearchSql(String engine) {
+        this.engine = Engine.valueOf(engine.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Construye el WHERE con los filtros presentes en el command
+     */
+    String where(ProductSearchCommand command, Map<String, Object> params) {
+        StringBuilder where = new StringBuilder(" WHERE p.active = true");
+
+        if (hasText(command.getName())) {
+            where.append(" AND p.name ILIKE :name");
+            params.put("name", contains(command.getName()));
+        }
+        if (hasText(command.getBrand())) {
+            where.append(" AND p.brand ILIKE :brand");
+            params.put("brand", contains(command.getBrand()));
+        }
+        if (command.getMinPrice() != null) {
+            where.append(" AND p.price >= :minPrice");
+            params.put("minPrice", command.getMinPrice());
+        }
+        if (command.getMaxPrice() != null) {
+            where.append(" AND p.price <= :maxPrice");
+            params.put("maxPrice", command.getMaxPrice());
+        }
+        if (command.getMinStock() != null) {
+            where.append(" AND p.stock >= :minStock");
+            params.put("minStock", command.getMinStock());
+        }
+        if (command.getCategoryIds() != null && !command.getCategoryIds().isEmpty()) {
+            where.append(" AND EXISTS (SELECT 1 FROM product_categories pc")
+                 .append(" WHERE pc.product_id = p.product_id AND pc.category_id IN (:categoryIds))");
+            params.put("categoryIds", command.getCategoryIds());
+        }
+        if (hasText(command.getSearchText())) {
+            if (engine == Engine.POSTGRES) {
+                where.append(" AND ").append(SEARCH_DOCUMENT).append(" @@ ").append(SEARCH_QUERY);
+                params.put("searchText", command.getSearchText());
+            } else {
+                where.append(" AND (p.name ILIKE :searchText OR p.brand ILIKE :searchText")
+                     .append(" OR p.model ILIKE :searchText OR p.description ILIKE :searchText)");
+                params.put("searchText", contains(command.getSearchText()));
+            }
+        }
+
+        return where.toString();
+    }
+
+    /**
+     * WHERE de la búsqueda por cursor: filtros del command más la condición keyset (name, product_id)
+     */
+    String whereAfter(ProductSearchCommand command, ProductSearchCursor after, Map<String, Object> params) {
+        String where = where(command, params);
+        if (after == null) {
+            return where;
+        }
+        params.put("lastName", after.getLastName());
+        params.put("lastId", after.getLastId());
+        return where + " AND (p.name, p.product_id) > (:lastName, :lastId)";
+    }
+
+    /**
+     * ORDER BY de la búsqueda por offset: con texto libre y motor postgres, por relevancia
+     */
+    String orderBy(ProductSearchCommand command) {
+        return isRanked(command)
+                ? " ORDER BY ts_rank(" + SEARCH_DOCUMENT + ", " + SEARCH_QUERY + ") DESC, p.name ASC, p.product_id ASC"
+                : KEYSET_ORDER_BY;
+    }
+
+    private boolean isRanked(ProductSearchCommand command) {
+        return engine == Engine.POSTGRES && hasText(command.getSearchText());
+    }
+
+    /**
+     * SELECT ... FROM products p con solo las columnas de los campos indicados, con alias igual a la propiedad
+     */
+    static String selectColumns(Set<ProductField> fields) {
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (ProductField field : fields) {
+            if (select.length() > "SELECT ".length()) {
+                select.append(", ");
+            }
+            select.append(FIELD_COLUMNS.get(field)).append(" as ").append(field.getProperty());
+        }
+        return select.append(" FROM products p").toString();
+    }
+
+    /**
+     * Consulta de facetas sobre el conjunto filtrado por el command
+     * Cada fila es (facet, facetKey, facetLabel, facetCount) con facet = brand, category o price;
+     * en price, facetKey es el índice del rango según los límites de priceBuckets (calculado en el CTE)
+     */
+    String facets(ProductSearchCommand command, List<BigDecimal> priceBuckets, Map<String, Object> params) {
+        StringBuilder bucket = new StringBuilder("CASE");
+        for (int i = 0; i < priceBuckets.size(); i++) {
+            bucket.append(" WHEN p.price < :priceBucket").append(i).append(" THEN ").append(i);
+            params.put("priceBucket" + i, priceBuckets.get(i));
+        }
+        bucket.append(" ELSE ").append(priceBuckets.size()).append(" END");
+
+        return "WITH filtered AS (SELECT p.product_id, p.brand, " + bucket + " as price_bucket" +
+               " FROM products p" + where(command, params) + ")" +
+               " SELECT 'brand' as facet, f.brand as facetKey, CAST(NULL AS VARCHAR) as facetLabel, COUNT(*) as facetCount" +
+               " FROM filtered f WHERE f.brand IS NOT NULL GROUP BY f.brand" +
+               " UNION ALL" +
+               " SELECT 'category', CAST(c.category_id AS VARCHAR), c.name, COUNT(*)" +
+               " FROM filtered f JOIN product_categories pc ON pc.product_id = f.product_id" +
+               " JOIN categories c ON c.category_id = pc.category_id AND c.active = true" +
+               " GROUP BY c.category_id, c.name" +
+               " UNION ALL" +
+               " SELECT 'price', CAST(f.price_bucket AS VARCHAR), CAST(NULL AS VARCHAR), COUNT(*)" +
+               " FROM filtered f GROUP BY f.price_bucket";
+    }
+
+    /**
+     * IDs de categoría de un ARRAY_AGG (Object[] en JDBC y en R2DBC); sin categorías, lista vacía
+     */
+    static List<Long> categoryIds(Object[] values) {
+        return values != null
+                ? Arrays.stream(values).map(value -> ((Number) value).longValue()).toList()
+                : List.of();
+    }
+
+    /**
+     * Nombres de categoría de un ARRAY_AGG, en el mismo orden que categoryIds
+     */
+    static List<String> categoryNames(Object[] values) {
+        return values != null
+                ? Arrays.stream(values).map(String::valueOf).toList()
+                : List.of();
+    }
+
+    /**
+     * Crea la proyección a partir de los valores de una fila, indexados por alias de columna
+     */
+    static ProductSearchProjection toProjection(Map<String, Object> row) {
+        return PROJECTION_FACTORY.createProjection(ProductSearchProjection.class, row);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String contains(String value) {
+        return "%" + value + "%";
+    }
+
+    /**
+     * Motor de búsqueda de texto
+     */
+    enum Engine {
+        POSTGRES,
+        BASIC
+    }
+}
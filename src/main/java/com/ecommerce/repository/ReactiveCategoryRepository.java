@@ -0,0 +1,59 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.config.JdbcTimestamps;
+import com.ecommerce.dto.response.CategoryResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio reactivo (R2DBC) de lectura de categorías (perfil reactive)
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveCategoryRepository {
+
+    private static final String ACTIVE_WITH_PRODUCT_COUNT = """
+            SELECT
+                c.category_id as id,
+                c.name as name,
+                c.description as description,
+                c.active as active,
+                c.created_at as createdAt,
+                c.updated_at as updatedAt,
+                COALESCE(pc.active_product_count, 0) as productCount
+            FROM categories c
+            LEFT JOIN category_product_counts pc ON pc.category_id = c.category_id
+            WHERE c.active = true
+            ORDER BY c.name ASC
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final JdbcTimestamps timestamps;
+
+    public ReactiveCategoryRepository(DatabaseClient databaseClient, JdbcTimestamps timestamps) {
+        this.databaseClient = databaseClient;
+        this.timestamps = timestamps;
+    }
+
+    /**
+     * Categorías activas ordenadas por nombre con su cantidad de productos activos
+     * (contadores de category_product_counts, ver CategoryProductCountResolver)
+     */
+    public Flux<CategoryResponse> findActiveWithProductCount() {
+        return databaseClient.sql(ACTIVE_WITH_PRODUCT_COUNT)
+                .map(row -> CategoryResponse.builder()
+                        .id(row.get("id", Long.class))
+                        .name(row.get("name", String.class))
+                        .description(row.get("description", String.class))
+                        .active(row.get("active", Boolean.class))
+                        .createdAt(timestamps.fromStored(row.get("createdAt", LocalDateTime.class)))
+                        .updatedAt(timestamps.fromStored(row.get("updatedAt", LocalDateTime.class)))
+                        .productCount(row.get("productCount", Integer.class))
+                        .build())
+                .all();
+    }
+}
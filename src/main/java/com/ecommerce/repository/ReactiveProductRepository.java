@@ -0,0 +1,101 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.config.JdbcTimestamps;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.command.ProductSearchCursor;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Repositorio reactivo (R2DBC) de lectura de productos (perfil reactive)
+ *
+ * Ejecuta el mismo SQL nativo que ProductSearchRepositoryImpl (ver ProductSearchSql).
+ * Las filas se piden al servidor en bloques de ecommerce.reactive.fetch-size según la demanda
+ * del suscriptor, así un cliente lento frena la lectura en lugar de acumular filas en memoria.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveProductRepository {
+
+    private final DatabaseClient databaseClient;
+    private final JdbcTimestamps timestamps;
+    private final ProductSearchSql searchSql;
+    private final int fetchSize;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient,
+                                     JdbcTimestamps timestamps,
+                                     @Value("${ecommerce.search.engine:postgres}") String engine,
+                                     @Value("${ecommerce.reactive.fetch-size:100}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.timestamps = timestamps;
+        this.searchSql = new ProductSearchSql(engine);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Busca un producto por ID con sus categorías agregadas
+     */
+    public Mono<ProductSearchProjection> findById(Long id) {
+        return databaseClient.sql(ProductSearchSql.SELECT_COLUMNS + " WHERE p.product_id = :id")
+                .bind("id", id)
+                .map(this::toProjection)
+                .one();
+    }
+
+    /**
+     * Búsqueda por cursor (keyset) sobre el par (name, product_id)
+     * Sin límite se emiten todas las coincidencias posteriores al cursor
+     */
+    public Flux<ProductSearchProjection> searchProductsAfter(ProductSearchCommand command,
+                                                             ProductSearchCursor after, Integer limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder sql = new StringBuilder(ProductSearchSql.SELECT_COLUMNS)
+                .append(searchSql.whereAfter(command, after, params))
+                .append(ProductSearchSql.KEYSET_ORDER_BY);
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+            params.put("limit", limit);
+        }
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(params)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(this::toProjection)
+                .all();
+    }
+
+    /**
+     * Mapea cada fila a la interfaz ProductSearchProjection (mismos alias y horas que la versión JDBC)
+     */
+    private ProductSearchProjection toProjection(Readable row) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", row.get("id", Long.class));
+        values.put("name", row.get("name", String.class));
+        values.put("description", row.get("description", String.class));
+        values.put("price", row.get("price", BigDecimal.class));
+        values.put("stock", row.get("stock", Integer.class));
+        values.put("imageUrl", row.get("imageUrl", String.class));
+        values.put("brand", row.get("brand", String.class));
+        values.put("model", row.get("model", String.class));
+        values.put("weight", row.get("weight", BigDecimal.class));
+        values.put("dimensions", row.get("dimensions", String.class));
+        values.put("active", row.get("active", Boolean.class));
+        values.put("featured", row.get("featured", Boolean.class));
+        values.put("createdAt", timestamps.fromStored(row.get("createdAt", LocalDateTime.class)));
+        values.put("updatedAt", timestamps.fromStored(row.get("updatedAt", LocalDateTime.class)));
+        values.put("categoryNames", ProductSearchSql.categoryNames((Object[]) row.get("categoryNames")));
+        values.put("categoryIds", ProductSearchSql.categoryIds((Object[]) row.get("categoryIds")));
+        return ProductSearchSql.toProjection(values);
+    }
+}
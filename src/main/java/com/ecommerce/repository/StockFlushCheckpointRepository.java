@@ -0,0 +1,12 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.entity.StockFlushCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de los checkpoints de volcado del stock en memoria (perfil hot-stock)
+ */
+@Repository
+public interface StockFlushCheckpointRepository extends JpaRepository<StockFlushCheckpoint, String> {
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formatos de archivo del catálogo para importación y exportación masiva
+ *
+ * - NDJSON: un objeto JSON por línea
+ * - CSV: con encabezado; las listas de categorías se separan con '|'
+ */
+public enum CatalogFileFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    CatalogFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resuelve el formato a partir del Content-Type de la petición (NDJSON por defecto)
+     */
+    public static CatalogFileFormat fromContentType(String contentType) {
+        return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(CSV.mediaType)
+                ? CSV
+                : NDJSON;
+    }
+
+    /**
+     * Resuelve el formato por nombre (ndjson, csv)
+     */
+    public static CatalogFileFormat fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato no soportado: " + name);
+        }
+    }
+}
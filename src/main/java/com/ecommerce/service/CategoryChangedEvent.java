@@ -0,0 +1,12 @@
+package com.ecommerce.service;
+
+import com.ecommerce.entity.ChangeEvent;
+
+/**
+ * Evento publicado dentro de la transacción cuando se crea, modifica o desactiva una categoría
+ *
+ * @param categoryId ID de la categoría
+ * @param operation  tipo de cambio
+ */
+public record CategoryChangedEvent(Long categoryId, ChangeEvent.Operation operation) {
+}
@@ -0,0 +1,197 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.config.DatabaseEngine;
+import com.ecommerce.dto.projection.CategoryProductCountProjection;
+import com.ecommerce.dto.response.CategoryResponse;
+import com.ecommerce.dto.response.ProductResponse;
+import com.ecommerce.entity.CategoryProductCount;
+import com.ecommerce.repository.CategoryProductCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene y resuelve el productCount (productos activos) de las categorías
+ *
+ * Los conteos viven en category_product_counts y se actualizan de forma incremental
+ * en la transacción de cada escritura de productos; leerlos cuesta O(categorías)
+ * y no requiere agregar sobre products ni inicializar la colección Category.products.
+ *
+ * Fuera de una transacción los conteos se sirven de la caché categoryProductCounts, que se carga
+ * desde la primaria y se invalida al confirmar cada cambio de un contador. Dentro de una transacción
+ * se leen de la base de datos: una escritura ve sus propios cambios y una lectura de solo lectura
+ * (posiblemente en una réplica) no llena la caché.
+ */
+@Component
+@Slf4j
+public class CategoryProductCountResolver {
+
+    private final CategoryProductCountRepository categoryProductCountRepository;
+    private final CacheManager cacheManager;
+    private final DatabaseEngine databaseEngine;
+    /**
+     * Carga de los conteos que faltan en la caché: lectura-escritura para que vaya a la primaria
+     */
+    private final TransactionTemplate primaryReadTransaction;
+
+    public CategoryProductCountResolver(CategoryProductCountRepository categoryProductCountRepository,
+                                        CacheManager cacheManager,
+                                        DatabaseEngine databaseEngine,
+                                        PlatformTransactionManager transactionManager) {
+        this.categoryProductCountRepository = categoryProductCountRepository;
+        this.cacheManager = cacheManager;
+        this.databaseEngine = databaseEngine;
+        this.primaryReadTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Obtiene la cantidad de productos activos por ID de categoría
+     */
+    public Map<Long, Integer> countProducts(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return Map.of();
+        }
+        Cache countsCache = cacheManager.getCache(CacheConfig.CATEGORY_PRODUCT_COUNTS_CACHE);
+        if (countsCache == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return findCounts(categoryIds);
+        }
+
+        Map<Long, Integer> counts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long categoryId : categoryIds) {
+            Integer cached = countsCache.get(categoryId, Integer.class);
+            if (cached != null) {
+                counts.put(categoryId, cached);
+            } else {
+                missing.add(categoryId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Integer> loaded = primaryReadTransaction.execute(status -> findCounts(missing));
+            for (Long categoryId : missing) {
+                int count = loaded.getOrDefault(categoryId, 0);
+                countsCache.put(categoryId, count);
+                counts.put(categoryId, count);
+            }
+        }
+        return counts;
+    }
+
+    private Map<Long, Integer> findCounts(Collection<Long> categoryIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (CategoryProductCountProjection row : categoryProductCountRepository.findCountsByCategoryIds(categoryIds)) {
+            counts.put(row.getCategoryId(), row.getProductCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Crea el contador (en cero) de una categoría nueva
+     */
+    public void registerCategory(Long categoryId) {
+        categoryProductCountRepository.save(new CategoryProductCount(categoryId, 0));
+        evict(categoryId);
+    }
+
+    /**
+     * Aplica el cambio de un producto entre dos estados, expresados como las categorías
+     * en las que contaba como activo antes y después de la escritura
+     * La escritura ya debe estar sincronizada (flush): el recuento de un contador faltante es SQL nativo
+     * sobre products y no ve los cambios pendientes del contexto de persistencia
+     */
+    public void applyActiveProductChange(Collection<Long> categoryIdsBefore, Collection<Long> categoryIdsAfter) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        categoryIdsBefore.forEach(id -> deltas.merge(id, -1, Integer::sum));
+        categoryIdsAfter.forEach(id -> deltas.merge(id, 1, Integer::sum));
+        addToActiveProductCounts(deltas);
+    }
+
+    /**
+     * Suma a cada contador su delta, en orden de ID para que escrituras concurrentes
+     * bloqueen las filas en el mismo orden
+     * Si una categoría no tiene contador se crea con el recuento completo, que ya incluye el cambio.
+     * Si otra transacción lo creó en paralelo, su recuento no ve este cambio y se le suma el delta.
+     */
+    public void addToActiveProductCounts(Map<Long, Integer> deltas) {
+        new TreeMap<>(deltas).forEach((categoryId, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            if (categoryProductCountRepository.addToActiveProductCount(categoryId, delta) == 0) {
+                log.warn("Categoría {} sin contador de productos, se recalcula", categoryId);
+                if (insertRecountedCountIfAbsent(categoryId) == 0) {
+                    categoryProductCountRepository.addToActiveProductCount(categoryId, delta);
+                }
+            }
+            evict(categoryId);
+        });
+    }
+
+    private int insertRecountedCountIfAbsent(Long categoryId) {
+        return databaseEngine.isH2()
+                ? categoryProductCountRepository.mergeRecountedCountIfAbsent(categoryId)
+                : categoryProductCountRepository.insertRecountedCountIfAbsent(categoryId);
+    }
+
+    /**
+     * Reconstruye todos los contadores a partir de product_categories
+     */
+    public void rebuild() {
+        categoryProductCountRepository.deleteAllInBatch();
+        int categories = categoryProductCountRepository.insertRecountedCounts();
+        Cache countsCache = cacheManager.getCache(CacheConfig.CATEGORY_PRODUCT_COUNTS_CACHE);
+        if (countsCache != null) {
+            countsCache.clear();
+        }
+        log.info("Contadores de productos reconstruidos para {} categorías", categories);
+    }
+
+    /**
+     * Completa productCount en las categorías anidadas de los productos
+     */
+    public void applyToProducts(Collection<ProductResponse> products) {
+        List<CategoryResponse> categories = products.stream()
+                .map(ProductResponse::getCategories)
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream)
+                .toList();
+        applyToCategories(categories);
+    }
+
+    /**
+     * Completa productCount en las categorías
+     */
+    public void applyToCategories(Collection<CategoryResponse> categories) {
+        Set<Long> categoryIds = categories.stream()
+                .map(CategoryResponse::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Integer> counts = countProducts(categoryIds);
+        categories.forEach(category -> category.setProductCount(counts.getOrDefault(category.getId(), 0)));
+    }
+
+    /**
+     * Invalida el conteo cacheado de una categoría (el proxy transaccional lo aplica tras el commit)
+     */
+    private void evict(Long categoryId) {
+        Cache countsCache = cacheManager.getCache(CacheConfig.CATEGORY_PRODUCT_COUNTS_CACHE);
+        if (countsCache != null) {
+            countsCache.evict(categoryId);
+        }
+    }
+}
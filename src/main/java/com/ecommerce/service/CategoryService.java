@@ -1,18 +1,28 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.config.MetricsConfig;
 import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.projection.CategoryVersionProjection;
 import com.ecommerce.dto.response.CategoryResponse;
 import com.ecommerce.entity.Category;
+import com.ecommerce.entity.ChangeEvent;
 import com.ecommerce.mapper.CategoryMapper;
 import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Servicio para gestión de categorías con patrón Command
@@ -20,29 +30,46 @@ import java.util.List;
  * 
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryProductCountResolver categoryProductCountResolver;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Crea una nueva categoría usando patrón Command
      */
     public CategoryResponse createCategory(CategoryCreateCommand command) {
-        log.info("Creando categoría con nombre: {}", command.getName());
+        log.debug("Creando categoría con nombre: {}", command.getName());
         
         if (categoryRepository.existsByName(command.getName())) {
             throw new RuntimeException("Ya existe una categoría con el nombre: " + command.getName());
         }
         
         Category category = categoryMapper.toEntityFromCommand(command);
-        Category savedCategory = categoryRepository.save(category);
+        // Flush inmediato: con IDs por secuencia el INSERT se difiere y createdAt quedaría vacío en la respuesta
+        Category savedCategory = categoryRepository.saveAndFlush(category);
+        categoryProductCountResolver.registerCategory(savedCategory.getId());
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId(), ChangeEvent.Operation.CREATED));
         
         log.info("Categoría creada exitosamente con ID: {}", savedCategory.getId());
-        return categoryMapper.toResponse(savedCategory);
+        return toResponse(savedCategory);
+    }
+    
+    /**
+     * Obtiene la versión de una categoría (última modificación y productos activos) para GET condicionales
+     * Vacío si la categoría no existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<CategoryVersionProjection> getCategoryVersion(Long id) {
+        return categoryRepository.findVersionById(id);
     }
     
     /**
@@ -50,12 +77,12 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
-        log.info("Obteniendo categoría con ID: {}", id);
+        log.debug("Obteniendo categoría con ID: {}", id);
         
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Categoría no encontrada con ID: " + id));
         
-        return categoryMapper.toResponse(category);
+        return toResponse(category);
     }
     
     /**
@@ -63,17 +90,19 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public Page<CategoryResponse> getAllCategories(Pageable pageable) {
-        log.info("Obteniendo categorías con paginación: {}", pageable);
+        log.debug("Obteniendo categorías con paginación: {}", pageable);
         
         Page<Category> categories = categoryRepository.findAll(pageable);
-        return categories.map(categoryMapper::toResponse);
+        Page<CategoryResponse> responses = categories.map(categoryMapper::toResponse);
+        categoryProductCountResolver.applyToCategories(responses.getContent());
+        return responses;
     }
     
     /**
      * Actualiza una categoría existente usando patrón Command
      */
     public CategoryResponse updateCategory(Long id, CategoryCreateCommand command) {
-        log.info("Actualizando categoría con ID: {}", id);
+        log.debug("Actualizando categoría con ID: {}", id);
         
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Categoría no encontrada con ID: " + id));
@@ -86,34 +115,68 @@ public class CategoryService {
         
         categoryMapper.updateEntityFromCommand(command, existingCategory);
         Category updatedCategory = categoryRepository.save(existingCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeEvent.Operation.UPDATED));
+        evictProductsOfCategory(id);
         
         log.info("Categoría actualizada exitosamente con ID: {}", updatedCategory.getId());
-        return categoryMapper.toResponse(updatedCategory);
+        return toResponse(updatedCategory);
     }
     
     /**
      * Elimina una categoría (soft delete)
      */
     public void deleteCategory(Long id) {
-        log.info("Eliminando categoría con ID: {}", id);
+        log.debug("Eliminando categoría con ID: {}", id);
         
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Categoría no encontrada con ID: " + id));
         
         category.setActive(false);
         categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeEvent.Operation.DELETED));
+        evictProductsOfCategory(id);
         
         log.info("Categoría eliminada exitosamente con ID: {}", id);
     }
     
+    /**
+     * Invalida en la caché de productos las respuestas que incluyen la categoría
+     * y notifica el cambio de esos productos (ProductChangedEvent)
+     * La caché es transaccional, por lo que la invalidación se aplica después del commit
+     */
+    private void evictProductsOfCategory(Long categoryId) {
+        List<Long> productIds = productRepository.findIdsByCategoryId(categoryId);
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+        }
+        
+        Cache productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (productsCache == null) {
+            return;
+        }
+        productIds.forEach(productsCache::evict);
+        log.debug("Invalidados {} productos en caché por cambios en la categoría {}", productIds.size(), categoryId);
+    }
+    
     /**
      * Busca categorías activas
      */
     @Transactional(readOnly = true)
     public List<CategoryResponse> getActiveCategories() {
-        log.info("Obteniendo categorías activas");
+        log.debug("Obteniendo categorías activas");
         
         List<Category> categories = categoryRepository.findByActiveTrueOrderByNameAsc();
-        return categoryMapper.toResponseList(categories);
+        List<CategoryResponse> responses = categoryMapper.toResponseList(categories);
+        categoryProductCountResolver.applyToCategories(responses);
+        return responses;
+    }
+    
+    /**
+     * Mapea una categoría a su respuesta completando productCount con una consulta agregada
+     */
+    private CategoryResponse toResponse(Category category) {
+        CategoryResponse response = categoryMapper.toResponse(category);
+        categoryProductCountResolver.applyToCategories(List.of(response));
+        return response;
     }
-} 
\ No newline at end of file
+}
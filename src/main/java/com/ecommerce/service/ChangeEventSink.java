@@ -0,0 +1,17 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.response.ChangeEventResponse;
+
+import java.util.List;
+
+/**
+ * Destino de los lotes de cambios publicados desde el outbox
+ *
+ * Se invoca dentro de la transacción que asigna las posiciones del feed: si lanza una excepción
+ * el lote no se marca como publicado y se reintenta. La entrega es al menos una vez; los
+ * consumidores deben descartar duplicados por eventId.
+ */
+public interface ChangeEventSink {
+
+    void publish(List<ChangeEventResponse> changes);
+}
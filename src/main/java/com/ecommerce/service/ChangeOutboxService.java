@@ -0,0 +1,177 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.dto.response.ChangeEventResponse;
+import com.ecommerce.dto.response.ChangeFeedResponse;
+import com.ecommerce.entity.ChangeEvent;
+import com.ecommerce.entity.ChangeFeedState;
+import com.ecommerce.repository.ChangeEventRepository;
+import com.ecommerce.repository.ChangeFeedStateRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox transaccional y feed de cambios de productos y categorías
+ *
+ * Cada ProductChangedEvent / CategoryChangedEvent se guarda como filas de change_events antes del commit
+ * de la misma transacción que hizo la escritura: si la escritura se confirma, el cambio queda registrado.
+ * Una tarea periódica toma los eventos pendientes en lotes, les asigna posiciones crecientes del feed
+ * bajo el bloqueo de change_feed_state y los entrega a los ChangeEventSink configurados.
+ * Las posiciones solo se asignan a eventos ya confirmados, así GET /changes?since= nunca salta
+ * un cambio que se confirme tarde.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Slf4j
+public class ChangeOutboxService {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeFeedStateRepository changeFeedStateRepository;
+    private final List<ChangeEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean publisherEnabled;
+    private final int batchSize;
+    private final Duration retention;
+
+    public ChangeOutboxService(ChangeEventRepository changeEventRepository,
+                               ChangeFeedStateRepository changeFeedStateRepository,
+                               List<ChangeEventSink> sinks,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${ecommerce.outbox.publisher.enabled:true}") boolean publisherEnabled,
+                               @Value("${ecommerce.outbox.batch-size:500}") int batchSize,
+                               @Value("${ecommerce.outbox.retention:7d}") Duration retention) {
+        this.changeEventRepository = changeEventRepository;
+        this.changeFeedStateRepository = changeFeedStateRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publisherEnabled = publisherEnabled;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Registra el cambio de productos en la transacción de la escritura
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        record(ChangeEvent.EntityType.PRODUCT, event.operation(), event.productIds());
+    }
+
+    /**
+     * Registra el cambio de una categoría en la transacción de la escritura
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        record(ChangeEvent.EntityType.CATEGORY, event.operation(), List.of(event.categoryId()));
+    }
+
+    /**
+     * Publica los eventos pendientes en lotes de ecommerce.outbox.batch-size hasta vaciar el outbox
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.outbox.poll-delay-ms:1000}")
+    public void publishPending() {
+        if (!publisherEnabled) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron publicar los cambios del outbox, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina los eventos publicados hace más de ecommerce.outbox.retention
+     * Un consumidor que vuelva con un since anterior pierde esos cambios y debe releer el catálogo
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.outbox.cleanup-delay-ms:3600000}")
+    public void purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                changeEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Eliminados {} eventos publicados del outbox de cambios", deleted);
+        }
+    }
+
+    /**
+     * Cambios publicados después de la posición since, en orden del feed
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(long since, int limit) {
+        List<ChangeEvent> events = changeEventRepository.findPublishedAfter(since, PageRequest.of(0, limit + 1));
+        boolean hasMore = events.size() > limit;
+        List<ChangeEventResponse> changes = (hasMore ? events.subList(0, limit) : events).stream()
+                .map(ChangeOutboxService::toResponse)
+                .toList();
+
+        return ChangeFeedResponse.builder()
+                .changes(changes)
+                .nextCursor(changes.isEmpty() ? since : changes.get(changes.size() - 1).getPosition())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private void record(ChangeEvent.EntityType entityType, ChangeEvent.Operation operation, Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        changeEventRepository.saveAll(ids.stream()
+                .map(id -> ChangeEvent.builder()
+                        .entityType(entityType)
+                        .entityId(id)
+                        .operation(operation)
+                        .occurredAt(now)
+                        .build())
+                .toList());
+    }
+
+    private int publishBatch() {
+        // El bloqueo del estado serializa a los publicadores de todas las instancias
+        ChangeFeedState state = changeFeedStateRepository.findForUpdate(ChangeFeedState.SINGLETON_ID)
+                .orElseGet(() -> changeFeedStateRepository.saveAndFlush(
+                        new ChangeFeedState(ChangeFeedState.SINGLETON_ID, 0L)));
+        List<ChangeEvent> pending = changeEventRepository.findPending(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long position = state.getLastPosition();
+        for (ChangeEvent event : pending) {
+            event.setFeedPosition(++position);
+            event.setPublishedAt(now);
+        }
+        state.setLastPosition(position);
+
+        List<ChangeEventResponse> changes = pending.stream().map(ChangeOutboxService::toResponse).toList();
+        sinks.forEach(sink -> sink.publish(changes));
+        log.debug("Publicados {} cambios del outbox (posiciones hasta {})", changes.size(), position);
+        return pending.size();
+    }
+
+    private static ChangeEventResponse toResponse(ChangeEvent event) {
+        return ChangeEventResponse.builder()
+                .eventId(event.getId())
+                .position(event.getFeedPosition())
+                .entityType(event.getEntityType().name())
+                .entityId(event.getEntityId())
+                .operation(event.getOperation().name())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.response.ChangeEventResponse;
+
+import java.util.List;
+
+/**
+ * Lote de cambios del outbox entregado a los listeners de la aplicación (InProcessChangeEventSink)
+ *
+ * @param changes eventos en orden del feed
+ */
+public record ChangesPublishedEvent(List<ChangeEventResponse> changes) {
+}
@@ -0,0 +1,195 @@
+package com.ecommerce.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock en memoria de un producto repartido en franjas independientes (perfil hot-stock)
+ *
+ * Cada franja guarda en un único long el stock disponible (32 bits altos) y las unidades
+ * reservadas pendientes de volcar (32 bits bajos, con signo). Una reserva mueve unidades de
+ * disponible a reservado con un CAS sobre una franja elegida al azar, así compras simultáneas
+ * del mismo producto casi nunca compiten por la misma posición de memoria.
+ *
+ * Invariante: la suma de (disponible + reservado) de todas las franjas es el stock en la base de datos.
+ * Las reservas no lo alteran; solo lo cambian takeReserved (volcado) y rebase, que se ejecutan
+ * con el monitor del contador tomado, igual que el reparto cuando ninguna franja alcanza.
+ */
+final class HotStockCounter {
+
+    /**
+     * Separación entre franjas para que no compartan línea de caché (8 longs = 64 bytes)
+     */
+    private static final int PADDING = 8;
+
+    private final long productId;
+    private final int stripes;
+    private final AtomicLongArray slots;
+
+    HotStockCounter(long productId, int stripes, int stock) {
+        this.productId = productId;
+        this.stripes = stripes;
+        this.slots = new AtomicLongArray(stripes * PADDING);
+        spread(Math.max(stock, 0));
+    }
+
+    long getProductId() {
+        return productId;
+    }
+
+    /**
+     * Reserva unidades si hay stock suficiente
+     * Camino rápido sin bloqueo; solo si ninguna franja alcanza se reparte el stock bajo el monitor
+     */
+    boolean tryReserve(int quantity) {
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            if (tryReserve((start + i) % stripes, quantity)) {
+                return true;
+            }
+        }
+        synchronized (this) {
+            int available = drainAvailable();
+            if (available < quantity) {
+                addAvailable(start, available);
+                return false;
+            }
+            // La franja elegida recibe todo el disponible y la reserva se hace sobre ella
+            addAvailable(start, available - quantity);
+            addReserved(start, quantity);
+            return true;
+        }
+    }
+
+    /**
+     * Deshace una reserva que no llegó a confirmarse (fallo al escribir el journal)
+     */
+    synchronized void release(int quantity) {
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        addAvailable(stripe, quantity);
+        addReserved(stripe, -quantity);
+    }
+
+    /**
+     * Toma las reservas pendientes de todas las franjas para volcarlas a la base de datos
+     */
+    synchronized int takeReserved() {
+        int taken = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int index = stripe * PADDING;
+            long current;
+            do {
+                current = slots.get(index);
+            } while (!slots.compareAndSet(index, current, pack(available(current), 0)));
+            taken += reserved(current);
+        }
+        return taken;
+    }
+
+    /**
+     * Devuelve a las reservas pendientes unidades cuyo volcado falló
+     */
+    synchronized void restoreReserved(int quantity) {
+        addReserved(0, quantity);
+    }
+
+    /**
+     * Ajusta el disponible al stock confirmado en la base de datos y lo reparte de nuevo entre las franjas
+     * Incorpora los cambios hechos fuera del motor (PUT /products/{id}) manteniendo las reservas pendientes
+     *
+     * @return diferencia aplicada al disponible (0 si la base de datos coincidía con la memoria)
+     */
+    synchronized int rebase(int databaseStock) {
+        int available = 0;
+        int reserved = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int index = stripe * PADDING;
+            long current;
+            do {
+                current = slots.get(index);
+            } while (!slots.compareAndSet(index, current, pack(0, reserved(current))));
+            available += available(current);
+            reserved += reserved(current);
+        }
+        int difference = databaseStock - (available + reserved);
+        spread(Math.max(available + difference, 0));
+        return difference;
+    }
+
+    /**
+     * Stock disponible aproximado (lectura no atómica entre franjas)
+     */
+    int available() {
+        int available = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            available += available(slots.get(stripe * PADDING));
+        }
+        return available;
+    }
+
+    private boolean tryReserve(int stripe, int quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = slots.get(index);
+            int available = available(current);
+            if (available < quantity) {
+                return false;
+            }
+            if (slots.compareAndSet(index, current, pack(available - quantity, reserved(current) + quantity))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Deja en 0 el disponible de todas las franjas y devuelve la suma (requiere el monitor)
+     */
+    private int drainAvailable() {
+        int drained = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int index = stripe * PADDING;
+            long current;
+            do {
+                current = slots.get(index);
+            } while (!slots.compareAndSet(index, current, pack(0, reserved(current))));
+            drained += available(current);
+        }
+        return drained;
+    }
+
+    private void spread(int stock) {
+        int share = stock / stripes;
+        int remainder = stock % stripes;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            addAvailable(stripe, share + (stripe < remainder ? 1 : 0));
+        }
+    }
+
+    private void addAvailable(int stripe, int delta) {
+        int index = stripe * PADDING;
+        long current;
+        do {
+            current = slots.get(index);
+        } while (!slots.compareAndSet(index, current, pack(available(current) + delta, reserved(current))));
+    }
+
+    private void addReserved(int stripe, int delta) {
+        int index = stripe * PADDING;
+        long current;
+        do {
+            current = slots.get(index);
+        } while (!slots.compareAndSet(index, current, pack(available(current), reserved(current) + delta)));
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long slot) {
+        return (int) (slot >> 32);
+    }
+
+    private static int reserved(long slot) {
+        return (int) slot;
+    }
+}
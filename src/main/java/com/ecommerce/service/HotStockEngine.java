@@ -0,0 +1,335 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.config.JdbcTimestamps;
+import com.ecommerce.dto.response.StockDecrementResponse;
+import com.ecommerce.entity.StockFlushCheckpoint;
+import com.ecommerce.repository.StockFlushCheckpointRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Motor de stock en memoria para productos de alta demanda (perfil hot-stock)
+ *
+ * Los productos de ecommerce.stock.hot.product-ids descuentan stock en HotStockCounter,
+ * sin tocar la fila de products en cada compra. Cada reserva se escribe en el journal local
+ * (StockJournal) antes de confirmarse, y cada ecommerce.stock.hot.flush-interval-ms el neto
+ * reservado se vuelca a la base de datos en una transacción que también avanza el checkpoint
+ * de esta instancia. Al reiniciar, el journal y el checkpoint reconstruyen las reservas no volcadas.
+ *
+ * Requiere que una sola instancia atienda las compras de los productos configurados.
+ */
+@Service
+@Profile("hot-stock")
+@Slf4j
+public class HotStockEngine {
+
+    private static final String DECREMENT_SQL =
+        "UPDATE products SET stock = stock - ?, version = version + 1, updated_at = ? WHERE product_id = ?";
+
+    private static final String FIND_STOCK_SQL =
+        "SELECT product_id, stock, active FROM products WHERE product_id IN (:productIds)";
+
+    /**
+     * El ID forma parte del nombre del journal (stock-<nodeId>.journal) y de la clave del checkpoint
+     */
+    private static final Pattern NODE_ID = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockFlushCheckpointRepository checkpointRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTimestamps timestamps;
+    private final List<Long> productIds;
+    private final int stripes;
+    private final Path journalFile;
+    private final long journalMaxBytes;
+    private final String nodeId;
+
+    private final AtomicLong flushIds = new AtomicLong();
+    private Map<Long, HotStockCounter> counters = Map.of();
+    /**
+     * Reservas recuperadas de productos que ya no están configurados; se vuelcan y se descartan
+     */
+    private final Map<Long, Integer> recoveredOrphans = new HashMap<>();
+    private StockJournal journal;
+
+    public HotStockEngine(JdbcTemplate jdbcTemplate,
+                          NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          StockFlushCheckpointRepository checkpointRepository,
+                          CacheManager cacheManager,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry,
+                          JdbcTimestamps timestamps,
+                          @Value("${ecommerce.stock.hot.product-ids:}") List<Long> productIds,
+                          @Value("${ecommerce.stock.hot.stripes:16}") int stripes,
+                          @Value("${ecommerce.stock.hot.journal-dir:./data/stock-journal}") String journalDir,
+                          @Value("${ecommerce.stock.hot.journal-max-bytes:67108864}") long journalMaxBytes,
+                          @Value("${ecommerce.stock.hot.node-id:}") String nodeId) {
+        if (!NODE_ID.matcher(nodeId).matches()) {
+            // Un ID derivado del hostname cambia al recrear el contenedor y dejaría el journal anterior sin recuperar
+            throw new IllegalStateException("El perfil hot-stock requiere un ecommerce.stock.hot.node-id estable " +
+                    "(HOT_STOCK_NODE_ID) de letras, dígitos, '.', '_' o '-'; valor actual: '" + nodeId + "'");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.timestamps = timestamps;
+        this.productIds = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        this.stripes = stripes;
+        this.journalFile = Path.of(journalDir).resolve("stock-" + nodeId + ".journal");
+        this.journalMaxBytes = journalMaxBytes;
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Recupera las reservas no volcadas del journal y carga el stock de los productos configurados
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(journalFile.getParent());
+        long committedFlushId = checkpointRepository.findById(nodeId)
+                .map(StockFlushCheckpoint::getLastFlushId)
+                .orElse(0L);
+        StockJournal.Recovery recovery = StockJournal.recover(journalFile, committedFlushId);
+        flushIds.set(Math.max(committedFlushId, recovery.lastFlushId()));
+        journal = new StockJournal(journalFile, journalMaxBytes);
+
+        if (productIds.isEmpty()) {
+            log.warn("Perfil hot-stock activo sin productos en ecommerce.stock.hot.product-ids");
+        }
+        Map<Long, Integer> stocks = findSellableStock(productIds);
+        Map<Long, HotStockCounter> loaded = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            int pending = Math.toIntExact(recovery.pending().getOrDefault(productId, 0L));
+            HotStockCounter counter = new HotStockCounter(productId, stripes, stocks.getOrDefault(productId, 0) - pending);
+            counter.restoreReserved(pending);
+            loaded.put(productId, counter);
+            Gauge.builder("ecommerce.stock.hot.available", counter, HotStockCounter::available)
+                    .description("Stock disponible en memoria de un producto de alta demanda")
+                    .tag("product", String.valueOf(productId))
+                    .register(meterRegistry);
+        }
+        recovery.pending().forEach((productId, pending) -> {
+            if (!loaded.containsKey(productId)) {
+                log.warn("Se vuelcan {} unidades reservadas del producto {} que ya no está en ecommerce.stock.hot.product-ids",
+                        pending, productId);
+                recoveredOrphans.put(productId, Math.toIntExact(pending));
+            }
+        });
+        counters = Map.copyOf(loaded);
+
+        log.info("Stock en memoria activo para {} productos ({} franjas), {} con reservas recuperadas del journal {}",
+                counters.size(), stripes, recovery.pending().size(), journalFile);
+        flush();
+    }
+
+    /**
+     * Si el producto se gestiona en memoria
+     */
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    /**
+     * Reserva unidades en memoria y responde cuando la reserva es durable en el journal
+     */
+    public StockDecrementResponse decrementStock(Long productId, int quantity) {
+        HotStockCounter counter = counters.get(productId);
+        if (counter == null) {
+            throw new IllegalArgumentException("El producto " + productId + " no se gestiona en memoria");
+        }
+        if (!counter.tryReserve(quantity)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Stock insuficiente para el producto " + productId + ": disponible " + counter.available() +
+                    ", solicitado " + quantity);
+        }
+        try {
+            journal.append(StockJournal.reservation(productId, quantity)).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            counter.release(quantity);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "No se pudo registrar la reserva de stock del producto " + productId, e);
+        }
+        return StockDecrementResponse.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .remainingStock(counter.available())
+                .build();
+    }
+
+    /**
+     * Vuelca el neto reservado a la base de datos y ajusta la memoria al stock confirmado
+     * Un volcado fallido devuelve las unidades a las reservas pendientes para el siguiente intento
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.stock.hot.flush-interval-ms:200}")
+    public synchronized void flush() {
+        if (counters.isEmpty() && recoveredOrphans.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> deltas = new LinkedHashMap<>(recoveredOrphans);
+        counters.values().forEach(counter -> {
+            int reserved = counter.takeReserved();
+            if (reserved != 0) {
+                deltas.put(counter.getProductId(), reserved);
+            }
+        });
+
+        long flushId = deltas.isEmpty() ? 0 : flushIds.incrementAndGet();
+        Map<Long, Integer> stocks;
+        try {
+            if (!deltas.isEmpty()) {
+                awaitJournal(deltas.entrySet().stream()
+                        .map(delta -> journal.append(StockJournal.flushIntent(flushId, delta.getKey(), delta.getValue())))
+                        .toList());
+            }
+            stocks = transactionTemplate.execute(status -> {
+                if (!deltas.isEmpty()) {
+                    applyDeltas(deltas, flushId);
+                    // Dentro de la transacción para que el outbox de cambios lo registre con el volcado
+                    eventPublisher.publishEvent(new ProductChangedEvent(List.copyOf(deltas.keySet())));
+                }
+                return findSellableStock(productIds);
+            });
+        } catch (RuntimeException e) {
+            deltas.forEach((productId, delta) -> {
+                HotStockCounter counter = counters.get(productId);
+                if (counter != null) {
+                    counter.restoreReserved(delta);
+                }
+            });
+            if (!deltas.isEmpty()) {
+                journal.append(StockJournal.flushAbort(flushId));
+            }
+            log.warn("No se pudo volcar el stock en memoria (volcado {}): {}", flushId, e.getMessage());
+            return;
+        }
+
+        if (!deltas.isEmpty()) {
+            journal.append(StockJournal.flushCommit(flushId));
+        }
+        recoveredOrphans.clear();
+        counters.values().forEach(counter -> {
+            int difference = counter.rebase(stocks.getOrDefault(counter.getProductId(), 0));
+            if (difference != 0) {
+                log.info("Stock en memoria del producto {} ajustado en {} por cambios en la base de datos",
+                        counter.getProductId(), difference);
+            }
+        });
+
+        if (!deltas.isEmpty()) {
+            log.debug("Volcado {} de stock en memoria: {}", flushId, deltas);
+            Cache productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+            if (productsCache != null) {
+                deltas.keySet().forEach(productsCache::evict);
+            }
+        }
+    }
+
+    /**
+     * Último volcado y cierre del journal al detener la aplicación
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        flush();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void applyDeltas(Map<Long, Integer> deltas, long flushId) {
+        // updated_at en la zona de Hibernate, igual que @UpdateTimestamp (base de los ETag)
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(deltas.entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, rows.get(i).getValue());
+                timestamps.set(ps, 2, now);
+                ps.setLong(3, rows.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                log.warn("Volcado {}: el producto {} no existe, se descartan {} unidades reservadas",
+                        flushId, rows.get(i).getKey(), rows.get(i).getValue());
+            }
+        }
+        checkpointRepository.save(new StockFlushCheckpoint(nodeId, flushId));
+    }
+
+    /**
+     * Stock vendible por producto: el de la base de datos si está activo, 0 si está inactivo o no existe
+     */
+    private Map<Long, Integer> findSellableStock(List<Long> ids) {
+        Map<Long, Integer> stocks = new HashMap<>();
+        if (ids.isEmpty()) {
+            return stocks;
+        }
+        namedParameterJdbcTemplate.query(FIND_STOCK_SQL, Map.of("productIds", ids), rs -> {
+            stocks.put(rs.getLong("product_id"), rs.getBoolean("active") ? rs.getInt("stock") : 0);
+        });
+        return stocks;
+    }
+
+    private static void awaitJournal(List<CompletableFuture<Void>> writes) {
+        try {
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando el journal de stock", e);
+        } catch (Exception e) {
+            throw new UncheckedIOException(new IOException("No se pudo escribir el journal de stock", e));
+        }
+    }
+}
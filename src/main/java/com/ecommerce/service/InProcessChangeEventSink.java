@@ -0,0 +1,28 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.response.ChangeEventResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Entrega cada lote del outbox como ChangesPublishedEvent a los listeners de la aplicación
+ * Desactivable con ecommerce.outbox.sinks.in-process.enabled=false
+ */
+@Component
+@ConditionalOnProperty(name = "ecommerce.outbox.sinks.in-process.enabled", havingValue = "true", matchIfMissing = true)
+public class InProcessChangeEventSink implements ChangeEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InProcessChangeEventSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<ChangeEventResponse> changes) {
+        eventPublisher.publishEvent(new ChangesPublishedEvent(changes));
+    }
+}
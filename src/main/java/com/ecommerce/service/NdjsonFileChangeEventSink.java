@@ -0,0 +1,52 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.response.ChangeEventResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Agrega cada lote del outbox a un archivo NDJSON local (un evento por línea), para pruebas y depuración
+ * Se activa al definir ecommerce.outbox.sinks.file.path
+ */
+@Component
+@ConditionalOnProperty(name = "ecommerce.outbox.sinks.file.path")
+@Slf4j
+public class NdjsonFileChangeEventSink implements ChangeEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public NdjsonFileChangeEventSink(ObjectMapper objectMapper,
+                                     @Value("${ecommerce.outbox.sinks.file.path}") String path) throws IOException {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        log.info("Cambios del outbox se escribirán en {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEventResponse> changes) {
+        StringBuilder lines = new StringBuilder(changes.size() * 128);
+        try {
+            for (ChangeEventResponse change : changes) {
+                lines.append(objectMapper.writeValueAsString(change)).append('\n');
+            }
+            Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el archivo de cambios " + file, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.service;
+
+import com.ecommerce.entity.ChangeEvent;
+
+import java.util.Collection;
+
+/**
+ * Evento publicado dentro de la transacción cuando se crean, modifican o desactivan productos
+ * (incluye los cambios de categoría que alteran las respuestas de sus productos)
+ *
+ * Los listeners que dependen de datos confirmados usan @TransactionalEventListener(AFTER_COMMIT);
+ * el outbox de cambios lo registra antes del commit (ver ChangeOutboxService).
+ *
+ * @param productIds IDs de los productos afectados
+ * @param operation  tipo de cambio
+ */
+public record ProductChangedEvent(Collection<Long> productIds, ChangeEvent.Operation operation) {
+
+    /**
+     * Modificación de productos existentes
+     */
+    public ProductChangedEvent(Collection<Long> productIds) {
+        this(productIds, ChangeEvent.Operation.UPDATED);
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de exportación del catálogo activo
+ *
+ * Los productos se leen con un cursor del servidor (ecommerce.export.fetch-size filas por viaje)
+ * y se escriben directamente en el OutputStream de la respuesta, uno por uno;
+ * la memoria usada no depende del tamaño del catálogo.
+ * El CSV usa las mismas columnas que acepta POST /products/import.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Slf4j
+public class ProductExportService {
+
+    private static final String CSV_HEADER =
+            "id,name,description,price,stock,imageUrl,brand,model,weight,dimensions,featured,categoryIds,categoryNames,createdAt,updatedAt";
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExportService(ProductRepository productRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${ecommerce.export.fetch-size:1000}") int fetchSize) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Escribe todos los productos activos en el formato indicado
+     * La transacción mantiene abierto el cursor mientras dura la escritura
+     */
+    @Transactional(readOnly = true)
+    public long exportActiveProducts(CatalogFileFormat format, OutputStream output) {
+        log.info("Iniciando exportación del catálogo en formato {}", format);
+
+        long exported;
+        try (Stream<ProductSearchProjection> products = productRepository.streamActiveProducts(fetchSize)) {
+            exported = format == CatalogFileFormat.CSV
+                    ? writeCsv(products.iterator(), output)
+                    : writeNdjson(products.iterator(), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error escribiendo la exportación del catálogo", e);
+        }
+
+        log.info("Exportación completada. {} productos exportados", exported);
+        return exported;
+    }
+
+    private long writeNdjson(Iterator<ProductSearchProjection> products, OutputStream output) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(output)) {
+            while (products.hasNext()) {
+                writer.write(products.next());
+                count++;
+            }
+        }
+        if (count > 0) {
+            output.write('\n');
+        }
+        output.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<ProductSearchProjection> products, OutputStream output) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        while (products.hasNext()) {
+            ProductSearchProjection product = products.next();
+            writer.write(String.valueOf(product.getId()));
+            writeField(writer, product.getName());
+            writeField(writer, product.getDescription());
+            writeField(writer, product.getPrice());
+            writeField(writer, product.getStock());
+            writeField(writer, product.getImageUrl());
+            writeField(writer, product.getBrand());
+            writeField(writer, product.getModel());
+            writeField(writer, product.getWeight());
+            writeField(writer, product.getDimensions());
+            writeField(writer, product.getFeatured());
+            writeField(writer, listField(product.getCategoryIds()));
+            writeField(writer, listField(product.getCategoryNames()));
+            writeField(writer, product.getCreatedAt());
+            writeField(writer, product.getUpdatedAt());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Escribe ",valor" escapando comillas, comas y saltos de línea
+     */
+    private static void writeField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+
+    /**
+     * Las listas de categorías se escriben en una sola columna separadas con '|'
+     */
+    private static String listField(List<?> values) {
+        return values.stream().map(String::valueOf).collect(Collectors.joining("|"));
+    }
+}
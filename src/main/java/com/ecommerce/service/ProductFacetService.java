@@ -0,0 +1,67 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.response.ProductFacetsResponse;
+import com.ecommerce.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Facetas de la búsqueda avanzada: cantidades por marca, categoría y rango de precio
+ *
+ * Se calculan sobre el mismo conjunto filtrado que POST /products/search en una sola consulta
+ * (ver ProductSearchSql.facets) y se guardan unos segundos en la caché de facetas, indexadas
+ * por el command completo, así los filtros repetidos de la barra lateral no vuelven a agregar.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Slf4j
+public class ProductFacetService {
+
+    private final ProductRepository productRepository;
+    private final List<BigDecimal> defaultPriceBuckets;
+
+    public ProductFacetService(ProductRepository productRepository,
+                               @Value("${ecommerce.search.facets.price-buckets:100000,500000,1000000,3000000,5000000}")
+                               List<BigDecimal> defaultPriceBuckets) {
+        this.productRepository = productRepository;
+        this.defaultPriceBuckets = List.copyOf(defaultPriceBuckets);
+        validatePriceBuckets(this.defaultPriceBuckets);
+    }
+
+    /**
+     * Facetas de los productos que cumplen los criterios
+     * Los rangos de precio usan priceBuckets del command o los configurados por defecto
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_FACETS_CACHE, key = "#searchCommand")
+    public ProductFacetsResponse getFacets(ProductSearchCommand searchCommand) {
+        List<BigDecimal> priceBuckets = searchCommand.getPriceBuckets() != null && !searchCommand.getPriceBuckets().isEmpty()
+                ? searchCommand.getPriceBuckets()
+                : defaultPriceBuckets;
+        validatePriceBuckets(priceBuckets);
+        log.debug("Calculando facetas de búsqueda con criterios: {}", searchCommand);
+
+        return productRepository.searchFacets(searchCommand, priceBuckets);
+    }
+
+    private static void validatePriceBuckets(List<BigDecimal> priceBuckets) {
+        for (int i = 1; i < priceBuckets.size(); i++) {
+            if (priceBuckets.get(i).compareTo(priceBuckets.get(i - 1)) <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Los límites de precio de las facetas deben ser estrictamente ascendentes: " + priceBuckets);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.dto.response.ProductResponse;
+import com.ecommerce.mapper.ProductMapper;
+import com.ecommerce.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds de productos destacados y con stock bajo servidos desde memoria
+ *
+ * Cada feed es una lista inmutable de respuestas precalculadas que se reemplaza completa al reconstruirse,
+ * así las lecturas no consultan la base de datos ni necesitan sincronización.
+ * Las escrituras de productos (ProductChangedEvent, después del commit) solo marcan los feeds como
+ * desactualizados; una tarea periódica los reconstruye una vez por ráfaga de cambios.
+ * Los cambios que no pasan por esta instancia (otras instancias, escrituras directas a la base de datos)
+ * no producen el evento: el snapshot se reconstruye también cuando supera ecommerce.feeds.max-age-ms.
+ * Cada feed guarda como máximo ecommerce.feeds.max-items productos (el totalElements de sus páginas);
+ * el total real al reconstruirlo se expone aparte (getFeaturedTotal, getLowStockTotal).
+ * La reconstrucción lee de la primaria (transacción de lectura-escritura): con réplicas de lectura,
+ * una réplica atrasada produciría un snapshot anterior a la escritura que se daría por vigente.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Slf4j
+public class ProductFeedService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final CategoryProductCountResolver categoryProductCountResolver;
+    private final TransactionTemplate primaryReadTransaction;
+    private final int lowStockThreshold;
+    private final int maxItems;
+    private final long maxAgeNanos;
+
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+    private volatile Feed featuredProducts = Feed.EMPTY;
+    private volatile Feed lowStockProducts = Feed.EMPTY;
+    /**
+     * Inicio (System.nanoTime) de la última reconstrucción exitosa
+     */
+    private volatile long builtAt = System.nanoTime();
+
+    /**
+     * Productos precalculados de un feed (hasta maxItems) y total real al reconstruirlo
+     */
+    private record Feed(List<ProductResponse> items, long total) {
+
+        static final Feed EMPTY = new Feed(List.of(), 0);
+    }
+
+    public ProductFeedService(ProductRepository productRepository,
+                              ProductMapper productMapper,
+                              CategoryProductCountResolver categoryProductCountResolver,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${ecommerce.feeds.low-stock-threshold:10}") int lowStockThreshold,
+                              @Value("${ecommerce.feeds.max-items:500}") int maxItems,
+                              @Value("${ecommerce.feeds.max-age-ms:30000}") long maxAgeMs) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.categoryProductCountResolver = categoryProductCountResolver;
+        this.primaryReadTransaction = new TransactionTemplate(transactionManager);
+        this.lowStockThreshold = lowStockThreshold;
+        this.maxItems = maxItems;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+    }
+
+    /**
+     * Página de productos destacados activos, más recientes primero
+     */
+    public Page<ProductResponse> getFeaturedProducts(Pageable pageable) {
+        return page(featuredProducts, pageable);
+    }
+
+    /**
+     * Página de productos activos con stock menor al umbral, menor stock primero
+     */
+    public Page<ProductResponse> getLowStockProducts(Pageable pageable) {
+        return page(lowStockProducts, pageable);
+    }
+
+    /**
+     * Total real de productos destacados en la última reconstrucción, aunque el feed guarde solo max-items
+     */
+    public long getFeaturedTotal() {
+        return featuredProducts.total();
+    }
+
+    /**
+     * Total real de productos con stock bajo en la última reconstrucción, aunque el feed guarde solo max-items
+     */
+    public long getLowStockTotal() {
+        return lowStockProducts.total();
+    }
+
+    /**
+     * Marca los feeds como desactualizados cuando la transacción que modificó productos confirma
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        stale.set(true);
+    }
+
+    /**
+     * Reconstruye los feeds si hubo cambios desde la última reconstrucción o si el snapshot expiró
+     * El intervalo agrupa las escrituras en ráfaga en una sola reconstrucción
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.feeds.rebuild-delay-ms:2000}")
+    public void rebuildIfStale() {
+        boolean changed = stale.getAndSet(false);
+        if (changed || System.nanoTime() - builtAt >= maxAgeNanos) {
+            rebuildSafely();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildSafely();
+    }
+
+    /**
+     * Recalcula ambos feeds y los publica de una vez
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        primaryReadTransaction.executeWithoutResult(status -> {
+            featuredProducts = new Feed(load(productRepository.findFeaturedIds(PageRequest.of(0, maxItems))),
+                    productRepository.countFeatured());
+            lowStockProducts = new Feed(load(productRepository.findLowStockIds(lowStockThreshold, PageRequest.of(0, maxItems))),
+                    productRepository.countLowStock(lowStockThreshold));
+        });
+        builtAt = start;
+        log.debug("Feeds de productos reconstruidos en {} ms: {} destacados, {} con stock bajo",
+                (System.nanoTime() - start) / 1_000_000, featuredProducts.total(), lowStockProducts.total());
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Se conservan los feeds anteriores y se reintenta en la próxima ejecución
+            stale.set(true);
+            log.warn("No se pudieron reconstruir los feeds de productos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Carga los productos con sus categorías en una consulta y conserva el orden de los IDs
+     */
+    private List<ProductResponse> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> position = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        List<ProductResponse> responses = productRepository.findWithCategoriesByIdIn(ids).stream()
+                .sorted(Comparator.comparing(product -> position.get(product.getId())))
+                .map(productMapper::toResponse)
+                .toList();
+        categoryProductCountResolver.applyToProducts(responses);
+        return responses;
+    }
+
+    private static Page<ProductResponse> page(Feed feed, Pageable pageable) {
+        List<ProductResponse> items = feed.items();
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return new PageImpl<>(items.subList(from, to), pageable, items.size());
+    }
+}
@@ -0,0 +1,480 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.JdbcTimestamps;
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.dto.request.ProductCreateRequest;
+import com.ecommerce.dto.response.ProductImportResponse;
+import com.ecommerce.entity.ChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de importación masiva de productos
+ *
+ * Lee el archivo línea a línea (NDJSON o CSV) sin cargarlo completo en memoria,
+ * valida cada fila con las mismas reglas de ProductCreateRequest y escribe por lotes:
+ * - las categorías de cada lote se resuelven con una sola consulta IN
+ * - productos y relaciones se insertan con JDBC batch, un lote por transacción
+ * Las filas inválidas se reportan con su número de línea sin detener la importación.
+ * En CSV un campo entre comillas puede contener saltos de línea: el registro sigue en las líneas
+ * siguientes y sus errores se reportan con la línea donde empieza.
+ * Si la base de datos rechaza un lote, sus filas se reintentan una a una (una transacción por fila)
+ * para reportar solo las que fallan.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Slf4j
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT_SQL = """
+        INSERT INTO products (product_id, name, description, price, stock, image_url, brand, model,
+                              weight, dimensions, active, featured, created_at, updated_at, version)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+        """;
+
+    private static final String INSERT_PRODUCT_CATEGORY_SQL =
+        "INSERT INTO product_categories (product_id, category_id) VALUES (?, ?)";
+
+    private static final String FIND_CATEGORY_IDS_SQL =
+        "SELECT category_id FROM categories WHERE category_id IN (:categoryIds)";
+
+    private static final String NEXT_PRODUCT_ID_BLOCK_SQL = "SELECT nextval('products_seq')";
+
+    private static final String POOLED_OPTIMIZER = "pooled";
+
+    /**
+     * Tope de un registro CSV que sigue en varias líneas; las columnas validadas suman bastante menos,
+     * así una comilla sin cerrar no acumula el resto del archivo en memoria
+     */
+    private static final int MAX_CSV_RECORD_CHARS = 16_384;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CategoryProductCountResolver categoryProductCountResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTimestamps timestamps;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int idAllocationSize;
+    private final String idOptimizer;
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                CategoryProductCountResolver categoryProductCountResolver,
+                                ApplicationEventPublisher eventPublisher,
+                                JdbcTimestamps timestamps,
+                                @Value("${ecommerce.import.batch-size:500}") int batchSize,
+                                @Value("${ecommerce.import.max-reported-errors:1000}") int maxReportedErrors,
+                                @Value("${ecommerce.jpa.id.allocation-size:50}") int idAllocationSize,
+                                @Value("${ecommerce.jpa.id.optimizer:pooled-lo}") String idOptimizer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.categoryProductCountResolver = categoryProductCountResolver;
+        this.eventPublisher = eventPublisher;
+        this.timestamps = timestamps;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.idAllocationSize = idAllocationSize;
+        this.idOptimizer = idOptimizer;
+    }
+
+    /**
+     * Importa productos desde un flujo NDJSON (un ProductCreateRequest por línea)
+     * o CSV (con encabezado; categoryIds separados por '|')
+     */
+    public ProductImportResponse importProducts(InputStream input, CatalogFileFormat format) {
+        log.info("Iniciando importación masiva de productos en formato {}", format);
+
+        ImportResult result = new ImportResult(maxReportedErrors);
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            CsvHeader csvHeader = null;
+
+            if (format == CatalogFileFormat.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return result.toResponse();
+                }
+                csvHeader = new CsvHeader(parseCsvLine(header));
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.processed++;
+
+                // Un campo entre comillas puede contener saltos de línea: el registro sigue en las líneas siguientes
+                long recordLine = lineNumber;
+                if (format == CatalogFileFormat.CSV && hasOpenQuote(line)) {
+                    StringBuilder record = new StringBuilder(line);
+                    boolean open = true;
+                    String next;
+                    while (open && record.length() <= MAX_CSV_RECORD_CHARS && (next = reader.readLine()) != null) {
+                        lineNumber++;
+                        record.append('\n').append(next);
+                        open ^= hasOpenQuote(next);
+                    }
+                    if (open) {
+                        result.fail(recordLine, "Fila con formato inválido: campo entre comillas sin cerrar");
+                        continue;
+                    }
+                    line = record.toString();
+                }
+
+                ProductCreateRequest row;
+                try {
+                    row = format == CatalogFileFormat.CSV
+                            ? csvHeader.toRequest(parseCsvLine(line))
+                            : objectMapper.readValue(line, ProductCreateRequest.class);
+                } catch (Exception e) {
+                    result.fail(recordLine, "Fila con formato inválido: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    continue;
+                }
+
+                String violations = validate(row);
+                if (violations != null) {
+                    result.fail(recordLine, violations);
+                    continue;
+                }
+
+                batch.add(new PendingRow(recordLine, row));
+                if (batch.size() >= batchSize) {
+                    flush(batch, result);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el archivo de importación", e);
+        }
+
+        log.info("Importación completada. Procesadas {} filas, importadas {}, rechazadas {}",
+                result.processed, result.imported, result.failed);
+        return result.toResponse();
+    }
+
+    /**
+     * Escribe un lote: resuelve sus categorías con una consulta y lo inserta en una transacción
+     * Si la transacción falla, reintenta cada fila en su propia transacción con el ID ya reservado
+     */
+    private void flush(List<PendingRow> batch, ImportResult result) {
+        Set<Long> requestedCategoryIds = batch.stream()
+                .flatMap(row -> row.categoryIds().stream())
+                .collect(Collectors.toSet());
+
+        Set<Long> existingCategoryIds = requestedCategoryIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                        FIND_CATEGORY_IDS_SQL, Map.of("categoryIds", requestedCategoryIds), Long.class));
+
+        List<PendingRow> insertable = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            List<Long> missing = row.categoryIds().stream()
+                    .filter(id -> !existingCategoryIds.contains(id))
+                    .toList();
+            if (missing.isEmpty()) {
+                insertable.add(row);
+            } else {
+                result.fail(row.line(), "Categorías inexistentes: " + missing);
+            }
+        }
+
+        if (insertable.isEmpty()) {
+            return;
+        }
+
+        List<Long> productIds = nextProductIds(insertable.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(insertable, productIds));
+            result.imported += insertable.size();
+        } catch (DataAccessException e) {
+            log.warn("Lote de importación rechazado ({} filas), se reintenta fila por fila: {}",
+                    insertable.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (int i = 0; i < insertable.size(); i++) {
+                PendingRow row = insertable.get(i);
+                List<Long> rowId = List.of(productIds.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(List.of(row), rowId));
+                    result.imported++;
+                } catch (DataAccessException rowError) {
+                    result.fail(row.line(), "Fila rechazada por la base de datos: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserta productos y relaciones con JDBC batch
+     */
+    private void insertBatch(List<PendingRow> rows, List<Long> productIds) {
+        // Misma zona que @CreationTimestamp/@UpdateTimestamp de las filas escritas por JPA
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductCreateRequest row = rows.get(i).request();
+                ps.setLong(1, productIds.get(i));
+                ps.setString(2, row.getName());
+                setNullable(ps, 3, row.getDescription(), Types.VARCHAR);
+                ps.setBigDecimal(4, row.getPrice());
+                ps.setInt(5, row.getStock());
+                setNullable(ps, 6, row.getImageUrl(), Types.VARCHAR);
+                setNullable(ps, 7, row.getBrand(), Types.VARCHAR);
+                setNullable(ps, 8, row.getModel(), Types.VARCHAR);
+                setNullable(ps, 9, row.getWeight(), Types.NUMERIC);
+                setNullable(ps, 10, row.getDimensions(), Types.VARCHAR);
+                ps.setBoolean(11, true);
+                ps.setBoolean(12, Boolean.TRUE.equals(row.getFeatured()));
+                timestamps.set(ps, 13, now);
+                timestamps.set(ps, 14, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        List<Object[]> links = new ArrayList<>();
+        Map<Long, Integer> activeProductsByCategory = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            for (Long categoryId : rows.get(i).categoryIds()) {
+                links.add(new Object[]{productIds.get(i), categoryId});
+                activeProductsByCategory.merge(categoryId, 1, Integer::sum);
+            }
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY_SQL, links);
+            // Los productos importados son activos: un UPDATE por categoría del lote
+            categoryProductCountResolver.addToActiveProductCounts(activeProductsByCategory);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds, ChangeEvent.Operation.CREATED));
+    }
+
+    /**
+     * Reserva IDs de producto directamente de products_seq
+     *
+     * Cada nextval reserva un bloque de ecommerce.jpa.id.allocation-size IDs (el INCREMENT BY de V4),
+     * interpretado igual que el optimizador de JPA: pooled-lo devuelve el inicio del bloque y pooled el final.
+     * Así los bloques del import nunca se solapan con los de JPA; los IDs sobrantes del último bloque
+     * se descartan. nextval no es transaccional, por eso los IDs siguen reservados tras un rollback.
+     */
+    private List<Long> nextProductIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long value = jdbcTemplate.queryForObject(NEXT_PRODUCT_ID_BLOCK_SQL, Long.class);
+            long first = POOLED_OPTIMIZER.equals(idOptimizer) ? value - idAllocationSize + 1 : value;
+            for (long id = first; id < first + idAllocationSize && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private String validate(ProductCreateRequest row) {
+        Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    /**
+     * Indica si la línea deja abierto (o cierra) un campo entre comillas: un número impar de comillas,
+     * ya que cada "" escapado cuenta dos
+     */
+    static boolean hasOpenQuote(String line) {
+        return line.chars().filter(c -> c == '"').count() % 2 == 1;
+    }
+
+    /**
+     * Separa un registro CSV respetando campos entre comillas dobles ("" escapa una comilla),
+     * que pueden contener comas y saltos de línea
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Fila válida pendiente de escribir en el lote actual
+     */
+    private record PendingRow(long line, ProductCreateRequest request) {
+
+        List<Long> categoryIds() {
+            return request.getCategoryIds() == null
+                    ? List.of()
+                    : List.copyOf(new LinkedHashSet<>(request.getCategoryIds()));
+        }
+    }
+
+    /**
+     * Encabezado CSV: posición de cada columna conocida
+     */
+    private static class CsvHeader {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvHeader(List<String> names) {
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+        }
+
+        ProductCreateRequest toRequest(List<String> fields) {
+            String price = value(fields, "price");
+            String stock = value(fields, "stock");
+            String weight = value(fields, "weight");
+            String featured = value(fields, "featured");
+            String categoryIds = value(fields, "categoryIds");
+
+            return ProductCreateRequest.builder()
+                    .name(value(fields, "name"))
+                    .description(value(fields, "description"))
+                    .price(price != null ? new BigDecimal(price) : null)
+                    .stock(stock != null ? Integer.valueOf(stock) : null)
+                    .imageUrl(value(fields, "imageUrl"))
+                    .brand(value(fields, "brand"))
+                    .model(value(fields, "model"))
+                    .weight(weight != null ? new BigDecimal(weight) : null)
+                    .dimensions(value(fields, "dimensions"))
+                    .featured(featured != null ? Boolean.valueOf(featured) : null)
+                    .categoryIds(categoryIds != null
+                            ? Arrays.stream(categoryIds.split("\\|")).map(String::trim).map(Long::valueOf).toList()
+                            : null)
+                    .build();
+        }
+
+        private String value(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Acumulador del resultado de la importación
+     */
+    private static class ImportResult {
+
+        private final int maxReportedErrors;
+        private final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        ImportResult(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportResponse.RowError(line, message));
+            }
+        }
+
+        ProductImportResponse toResponse() {
+            errors.sort(Comparator.comparing(ProductImportResponse.RowError::getLine));
+            return ProductImportResponse.builder()
+                    .processedRows(processed)
+                    .importedRows(imported)
+                    .failedRows(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+}
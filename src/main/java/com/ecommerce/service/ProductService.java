@@ -1,23 +1,56 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.config.DatabaseEngine;
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.config.VersionedCaffeineCache;
 import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductField;
 import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.command.ProductSearchCursor;
 import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.projection.ProductVersionProjection;
+import com.ecommerce.dto.response.ProductBatchResponse;
+import com.ecommerce.dto.response.ProductCursorPageResponse;
 import com.ecommerce.dto.response.ProductResponse;
+import com.ecommerce.dto.response.StockDecrementResponse;
 import com.ecommerce.entity.Product;
 import com.ecommerce.entity.Category;
+import com.ecommerce.entity.ChangeEvent;
 import com.ecommerce.repository.ProductRepository;
 import com.ecommerce.repository.CategoryRepository;
 import com.ecommerce.mapper.ProductMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para gestión de productos con patrón Command
@@ -27,7 +60,7 @@ import java.util.HashSet;
  * 
  */
 @Service
-@RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Slf4j
 @Transactional
 public class ProductService {
@@ -35,6 +68,56 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final CategoryProductCountResolver categoryProductCountResolver;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final DatabaseEngine databaseEngine;
+    
+    /**
+     * Búsquedas de solo lectura que ejecuta la primera llamada de cada grupo single-flight
+     */
+    private final TransactionTemplate readOnlyTransaction;
+    /**
+     * Lecturas que llenan la caché de productos: transacción de lectura-escritura para que, con réplicas
+     * de lectura (perfil read-replicas), se hagan en la primaria y la recarga que sigue a una escritura
+     * no guarde la fila anterior desde una réplica atrasada
+     */
+    private final TransactionTemplate primaryReadTransaction;
+    private final SingleFlight<Long, ProductResponse> productByIdFlight;
+    private final SingleFlight<SearchKey, Page<ProductSearchProjection>> searchFlight;
+    private final SingleFlight<CursorSearchKey, ProductCursorPageResponse<ProductSearchProjection>> cursorSearchFlight;
+    
+    private record SearchKey(ProductSearchCommand searchCommand, Pageable pageable) {
+    }
+    
+    private record CursorSearchKey(ProductSearchCommand searchCommand, String cursor, int size, boolean includeTotal) {
+    }
+    
+    public ProductService(ProductRepository productRepository,
+                          CategoryRepository categoryRepository,
+                          ProductMapper productMapper,
+                          CategoryProductCountResolver categoryProductCountResolver,
+                          MeterRegistry meterRegistry,
+                          ApplicationEventPublisher eventPublisher,
+                          CacheManager cacheManager,
+                          DatabaseEngine databaseEngine,
+                          PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productMapper = productMapper;
+        this.categoryProductCountResolver = categoryProductCountResolver;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.databaseEngine = databaseEngine;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryReadTransaction = new TransactionTemplate(transactionManager);
+        this.productByIdFlight = new SingleFlight<>("product-by-id", meterRegistry);
+        this.searchFlight = new SingleFlight<>("search", meterRegistry);
+        this.cursorSearchFlight = new SingleFlight<>("search-cursor", meterRegistry);
+    }
     
     /**
      * Búsqueda avanzada de productos usando query nativa con countQuery
@@ -45,32 +128,137 @@ public class ProductService {
      * - Usa paginación con Pageable
      * - Ejecuta query nativa con countQuery en el repository
      * - Mapea automáticamente a interfaz con getters
+     * 
+     * Búsquedas simultáneas con los mismos criterios y página comparten una sola consulta (single-flight);
+     * el método no abre transacción para que las llamadas en espera no ocupen una conexión
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<ProductSearchProjection> searchProducts(ProductSearchCommand searchCommand, Pageable pageable) {
-        log.info("Ejecutando búsqueda avanzada de productos con criterios: {}", searchCommand);
+        log.debug("Ejecutando búsqueda avanzada de productos con criterios: {}", searchCommand);
+        
+        return searchFlight.execute(new SearchKey(searchCommand, pageable), () -> readOnlyTransaction.execute(status -> {
+            // Ejecutar la query nativa con countQuery y mapeo a interfaz
+            Page<ProductSearchProjection> results = productRepository.searchProducts(searchCommand, pageable);
+            
+            log.debug("Búsqueda completada. Encontrados {} productos en {} páginas", 
+                    results.getTotalElements(), results.getTotalPages());
+            recordSearchResults("offset", results.getNumberOfElements(), results.getTotalElements());
+            
+            return results;
+        }));
+    }
+    
+    /**
+     * Búsqueda de productos paginada por cursor (keyset)
+     * 
+     * A diferencia de la paginación por offset, cada página busca a partir del último
+     * par (name, product_id) entregado, así el costo no crece con la profundidad.
+     * El COUNT total solo se ejecuta si el cliente lo solicita con includeTotal.
+     * Búsquedas simultáneas idénticas (criterios, cursor y tamaño) comparten una sola consulta (single-flight).
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductCursorPageResponse<ProductSearchProjection> searchProductsByCursor(ProductSearchCommand searchCommand, 
+                                                            String cursor, int size, boolean includeTotal) {
+        log.debug("Ejecutando búsqueda por cursor de productos con criterios: {}", searchCommand);
+        
+        return cursorSearchFlight.execute(new CursorSearchKey(searchCommand, cursor, size, includeTotal),
+                () -> readOnlyTransaction.execute(status -> loadCursorPage(searchCommand, cursor, size, includeTotal)));
+    }
+    
+    private ProductCursorPageResponse<ProductSearchProjection> loadCursorPage(ProductSearchCommand searchCommand,
+                                                                             String cursor, int size, boolean includeTotal) {
+        ProductSearchCursor after = decodeCursor(cursor);
+        
+        List<ProductSearchProjection> rows = productRepository.searchProductsAfter(searchCommand, after, size + 1);
+        
+        boolean hasNext = rows.size() > size;
+        List<ProductSearchProjection> content = hasNext ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            ProductSearchProjection last = content.get(content.size() - 1);
+            nextCursor = new ProductSearchCursor(last.getName(), last.getId()).encode();
+        }
+        
+        Long totalElements = null;
+        if (includeTotal) {
+            totalElements = productRepository.countSearchProducts(searchCommand);
+        }
         
-        // Ejecutar la query nativa simplificada con countQuery y mapeo a interfaz
-        Page<ProductSearchProjection> results = productRepository.searchProducts(
-            searchCommand.getName(),
-            searchCommand.getBrand(),
-            searchCommand.getMinPrice(),
-            searchCommand.getMaxPrice(),
-            searchCommand.getMinStock(),
-            pageable
-        );
+        log.debug("Búsqueda por cursor completada. Entregados {} productos, hay más: {}", 
+                content.size(), hasNext);
+        recordSearchResults("cursor", content.size(), totalElements);
         
-        log.info("Búsqueda completada. Encontrados {} productos en {} páginas", 
-                results.getTotalElements(), results.getTotalPages());
+        return ProductCursorPageResponse.<ProductSearchProjection>builder()
+                .content(content)
+                .size(size)
+                .numberOfElements(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+    
+    /**
+     * Búsqueda avanzada por offset que lee y devuelve solo los campos indicados (fields=)
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchProductFields(ProductSearchCommand searchCommand, Pageable pageable,
+                                                         Set<ProductField> fields) {
+        log.debug("Ejecutando búsqueda avanzada de productos con criterios: {} y campos: {}", searchCommand, fields);
         
+        Page<Map<String, Object>> results = productRepository.searchProductFields(searchCommand, pageable, fields);
+        recordSearchResults("offset", results.getNumberOfElements(), results.getTotalElements());
         return results;
     }
     
+    /**
+     * Búsqueda por cursor que lee y devuelve solo los campos indicados (fields=)
+     * El nombre se lee siempre porque forma parte del cursor; si no se pidió, se quita de la respuesta
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPageResponse<Map<String, Object>> searchProductFieldsByCursor(ProductSearchCommand searchCommand,
+                                                                                      String cursor, int size, boolean includeTotal,
+                                                                                      Set<ProductField> fields) {
+        log.debug("Ejecutando búsqueda por cursor de productos con criterios: {} y campos: {}", searchCommand, fields);
+        
+        ProductSearchCursor after = decodeCursor(cursor);
+        Set<ProductField> keysetFields = EnumSet.copyOf(fields);
+        keysetFields.add(ProductField.NAME);
+        
+        List<Map<String, Object>> rows = productRepository.searchProductFieldsAfter(searchCommand, after, size + 1, keysetFields);
+        
+        boolean hasNext = rows.size() > size;
+        List<Map<String, Object>> content = hasNext ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            Map<String, Object> last = content.get(content.size() - 1);
+            nextCursor = new ProductSearchCursor((String) last.get(ProductField.NAME.getProperty()),
+                    (Long) last.get(ProductField.ID.getProperty())).encode();
+        }
+        if (!fields.contains(ProductField.NAME)) {
+            content.forEach(row -> row.remove(ProductField.NAME.getProperty()));
+        }
+        
+        Long totalElements = includeTotal ? productRepository.countSearchProducts(searchCommand) : null;
+        recordSearchResults("cursor", content.size(), totalElements);
+        
+        return ProductCursorPageResponse.<Map<String, Object>>builder()
+                .content(content)
+                .size(size)
+                .numberOfElements(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+    
     /**
      * Crea un nuevo producto usando patrón Command
      */
     public ProductResponse createProduct(ProductCreateCommand command) {
-        log.info("Creando producto con nombre: {}", command.getName());
+        log.debug("Creando producto con nombre: {}", command.getName());
         
         // Usar ProductMapper (consistente con UserService y CategoryService)
         Product product = productMapper.toEntityFromCommand(command);
@@ -81,23 +269,121 @@ public class ProductService {
             product.setCategories(new HashSet<>(categories));
         }
         
-        Product savedProduct = productRepository.save(product);
+        // Flush inmediato: con IDs por secuencia el INSERT se difiere y createdAt quedaría vacío en la respuesta
+        Product savedProduct = productRepository.saveAndFlush(product);
+        categoryProductCountResolver.applyActiveProductChange(Set.of(), activeCategoryIds(savedProduct));
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(savedProduct.getId()), ChangeEvent.Operation.CREATED));
         
         log.info("Producto creado exitosamente con ID: {}", savedProduct.getId());
-        return productMapper.toResponse(savedProduct);
+        return toResponse(savedProduct);
     }
     
     /**
-     * Obtiene un producto por ID
+     * Obtiene la versión de un producto (marcas de tiempo suyas y de sus categorías) para GET condicionales
+     * con fields=, que no pasan por la caché de productos; no hidrata la entidad y es vacío si el producto no existe
      */
     @Transactional(readOnly = true)
+    public Optional<ProductVersionProjection> getProductVersion(Long id) {
+        return productRepository.findVersionById(id);
+    }
+    
+    /**
+     * Obtiene un producto por ID
+     * La respuesta se guarda en la caché de productos sin productCount; las escrituras la invalidan por ID
+     * y la recarga se lee de la primaria. Cada llamada recibe una copia con los conteos vigentes
+     * Los fallos de caché simultáneos del mismo ID comparten una sola lectura (single-flight);
+     * el método no abre transacción para que las llamadas en espera no ocupen una conexión
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductResponse getProductById(Long id) {
-        log.info("Obteniendo producto con ID: {}", id);
+        log.debug("Obteniendo producto con ID: {}", id);
         
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + id));
+        VersionedCaffeineCache productsCache = productsCache();
+        ProductResponse cached = productsCache != null ? productsCache.get(id, ProductResponse.class) : null;
+        if (cached == null) {
+            cached = productByIdFlight.execute(id, () -> {
+                long loadStamp = productsCache != null ? productsCache.startLoad() : 0;
+                ProductResponse loaded = primaryReadTransaction.execute(status -> productMapper.toResponse(
+                        productRepository.findWithCategoriesById(id)
+                                .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + id))));
+                if (productsCache != null) {
+                    productsCache.putLoaded(id, loaded, loadStamp);
+                }
+                return loaded;
+            });
+        }
+        
+        ProductResponse response = copyOf(cached);
+        categoryProductCountResolver.applyToProducts(List.of(response));
+        return response;
+    }
+    
+    /**
+     * Obtiene solo los campos indicados (fields=) de un producto, leyendo únicamente esas columnas
+     * No pasa por la caché de productos, que guarda la representación completa
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProductFieldsById(Long id, Set<ProductField> fields) {
+        log.debug("Obteniendo campos {} del producto con ID: {}", fields, id);
+        
+        return productRepository.findProductFieldsById(id, fields)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Producto no encontrado con ID: " + id));
+    }
+    
+    /**
+     * Obtiene varios productos por ID en el orden pedido, informando los que no existen
+     * Los que están en la caché de productos se toman de ahí; el resto se carga con una consulta IN
+     * y una inicialización de categorías por lotes (@BatchSize), leídos de la primaria, y se agrega a la caché
+     * Como en getProductById, se devuelven copias con productCount resuelto en una sola consulta
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        log.debug("Obteniendo {} productos por ID", requested.size());
+        
+        VersionedCaffeineCache productsCache = productsCache();
+        Map<Long, ProductResponse> found = new HashMap<>(requested.size() * 2);
+        List<Long> missingFromCache = new ArrayList<>();
+        for (Long id : requested) {
+            ProductResponse cached = productsCache != null ? productsCache.get(id, ProductResponse.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missingFromCache.add(id);
+            }
+        }
+        
+        if (!missingFromCache.isEmpty()) {
+            long loadStamp = productsCache != null ? productsCache.startLoad() : 0;
+            List<ProductResponse> loaded = primaryReadTransaction.execute(status ->
+                    productMapper.toResponseList(productRepository.findAllById(missingFromCache)));
+            for (ProductResponse response : loaded) {
+                found.put(response.getId(), response);
+                if (productsCache != null) {
+                    productsCache.putLoaded(response.getId(), response, loadStamp);
+                }
+            }
+        }
+        
+        List<ProductResponse> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            ProductResponse response = found.get(id);
+            if (response != null) {
+                products.add(copyOf(response));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        categoryProductCountResolver.applyToProducts(products);
+        log.debug("Productos por ID: {} desde caché, {} cargados, {} inexistentes",
+                requested.size() - missingFromCache.size(), missingFromCache.size() - missingIds.size(), missingIds.size());
         
-        return productMapper.toResponse(product);
+        return ProductBatchResponse.builder()
+                .products(products)
+                .missingIds(missingIds)
+                .build();
     }
     
     /**
@@ -105,21 +391,44 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
-        log.info("Obteniendo productos con paginación: {}", pageable);
+        log.debug("Obteniendo productos con paginación: {}", pageable);
         
+        // Las categorías se inicializan por lotes (@BatchSize) y los conteos en una sola consulta
         Page<Product> products = productRepository.findAll(pageable);
-        return products.map(productMapper::toResponse);
+        Page<ProductResponse> responses = products.map(productMapper::toResponse);
+        categoryProductCountResolver.applyToProducts(responses.getContent());
+        return responses;
+    }
+    
+    /**
+     * Obtiene una página de productos ordenados por ID con solo los campos indicados (fields=)
+     * Una sola consulta con las columnas pedidas, sin hidratar entidades ni cargar categorías
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllProductFields(Pageable pageable, Set<ProductField> fields) {
+        log.debug("Obteniendo campos {} de productos con paginación: {}", fields, pageable);
+        
+        return productRepository.findProductFields(pageable, fields);
     }
     
     /**
      * Actualiza un producto existente usando patrón Command
      */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public ProductResponse updateProduct(Long id, ProductCreateCommand command) {
-        log.info("Actualizando producto con ID: {}", id);
+        log.debug("Actualizando producto con ID: {}", id);
         
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + id));
         
+        // Bloqueo optimista entre peticiones: el cliente envía la versión que leyó
+        if (command.getVersion() != null && !command.getVersion().equals(existingProduct.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "El producto " + id + " fue modificado (versión actual " + existingProduct.getVersion() +
+                    ", enviada " + command.getVersion() + ")");
+        }
+        Set<Long> categoryIdsBefore = activeCategoryIds(existingProduct);
+        
         // Usar ProductMapper para actualizar la entidad (consistente con otros servicios)
         productMapper.updateEntityFromCommand(command, existingProduct);
         
@@ -129,24 +438,139 @@ public class ProductService {
             existingProduct.setCategories(new HashSet<>(categories));
         }
         
-        Product updatedProduct = productRepository.save(existingProduct);
+        // Flush inmediato: el UPDATE ... WHERE version = ? se valida aquí y no al confirmar la transacción
+        Product updatedProduct;
+        try {
+            updatedProduct = productRepository.saveAndFlush(existingProduct);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "El producto " + id + " fue modificado por otra operación, vuelva a leerlo", e);
+        }
+        categoryProductCountResolver.applyActiveProductChange(categoryIdsBefore, activeCategoryIds(updatedProduct));
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
         
         log.info("Producto actualizado exitosamente con ID: {}", updatedProduct.getId());
-        return productMapper.toResponse(updatedProduct);
+        return toResponse(updatedProduct);
+    }
+    
+    /**
+     * Descuenta stock con un UPDATE condicional atómico, sin leer la entidad
+     * El mismo UPDATE devuelve el stock restante: tras bloquear la fila la transacción solo inserta
+     * el evento del outbox, así el bloqueo dura el mínimo aun con muchas compras simultáneas del mismo producto
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public StockDecrementResponse decrementStock(Long id, int quantity) {
+        log.debug("Descontando {} unidades de stock del producto {}", quantity, id);
+        
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Integer> remainingStock = databaseEngine.isH2()
+                ? productRepository.decrementStockFromFinalTable(id, quantity, now)
+                : productRepository.decrementStockReturningRemaining(id, quantity, now);
+        if (remainingStock.isEmpty()) {
+            Integer available = productRepository.findActiveStockById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                            "Producto no encontrado con ID: " + id));
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Stock insuficiente para el producto " + id + ": disponible " + available + ", solicitado " + quantity);
+        }
+        
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
+        return StockDecrementResponse.builder()
+                .productId(id)
+                .quantity(quantity)
+                .remainingStock(remainingStock.get())
+                .build();
     }
     
     /**
      * Elimina un producto (soft delete)
      */
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public void deleteProduct(Long id) {
-        log.info("Eliminando producto con ID: {}", id);
+        log.debug("Eliminando producto con ID: {}", id);
         
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + id));
         
+        Set<Long> categoryIdsBefore = activeCategoryIds(product);
         product.setActive(false);
-        productRepository.save(product);
+        // Flush antes de los contadores: si falta el de una categoría, el recuento nativo debe ver active = false
+        productRepository.saveAndFlush(product);
+        categoryProductCountResolver.applyActiveProductChange(categoryIdsBefore, Set.of());
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id), ChangeEvent.Operation.DELETED));
         
         log.info("Producto eliminado exitosamente con ID: {}", id);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Registra filas devueltas y coincidencias totales (si se calcularon) por modo de paginación
+     */
+    private void recordSearchResults(String paginationMode, int returned, Long total) {
+        DistributionSummary.builder(MetricsConfig.SEARCH_RESULTS)
+                .description("Productos devueltos por página de búsqueda")
+                .tag("pagination", paginationMode)
+                .register(meterRegistry)
+                .record(returned);
+        if (total != null) {
+            DistributionSummary.builder(MetricsConfig.SEARCH_TOTAL)
+                    .description("Productos que cumplen los criterios de búsqueda")
+                    .tag("pagination", paginationMode)
+                    .register(meterRegistry)
+                    .record(total);
+        }
+    }
+    
+    /**
+     * Decodifica el cursor recibido del cliente; un token mal formado se responde con 400
+     */
+    private static ProductSearchCursor decodeCursor(String cursor) {
+        try {
+            return ProductSearchCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    /**
+     * Categorías en las que el producto cuenta como activo (ninguna si está inactivo)
+     */
+    private static Set<Long> activeCategoryIds(Product product) {
+        if (!Boolean.TRUE.equals(product.getActive())) {
+            return Set.of();
+        }
+        return product.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+    }
+    
+    /**
+     * Copia de una respuesta de la caché de productos, con sus propias categorías, para que completar
+     * productCount o modificarla no altere la instancia compartida
+     */
+    private static ProductResponse copyOf(ProductResponse cached) {
+        return cached.toBuilder()
+                .categories(cached.getCategories() != null
+                        ? cached.getCategories().stream()
+                                .map(category -> category.toBuilder().build())
+                                .collect(Collectors.toList())
+                        : null)
+                .build();
+    }
+    
+    /**
+     * Caché de productos con guarda de versión (ver VersionedCaffeineCache), o null si no está configurada
+     */
+    private VersionedCaffeineCache productsCache() {
+        Cache productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        return productsCache != null ? VersionedCaffeineCache.unwrap(productsCache) : null;
+    }
+    
+    /**
+     * Mapea un producto a su respuesta completando productCount de sus categorías
+     */
+    private ProductResponse toResponse(Product product) {
+        ProductResponse response = productMapper.toResponse(product);
+        categoryProductCountResolver.applyToProducts(List.of(response));
+        return response;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.command.ProductSearchCursor;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.response.CategoryResponse;
+import com.ecommerce.repository.ReactiveCategoryRepository;
+import com.ecommerce.repository.ReactiveProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio de lectura reactiva del catálogo (perfil reactive)
+ * Sin transacciones: cada lectura es una única consulta sobre el pool R2DBC
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCatalogService {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ReactiveCategoryRepository reactiveCategoryRepository;
+
+    /**
+     * Obtiene un producto por ID; 404 si no existe
+     */
+    public Mono<ProductSearchProjection> getProductById(Long id) {
+        log.debug("Obteniendo producto reactivo con ID: {}", id);
+        return reactiveProductRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Producto no encontrado con ID: " + id)));
+    }
+
+    /**
+     * Emite los productos que cumplen los criterios a partir del cursor, en orden (name, id)
+     * Sin límite se emiten todas las coincidencias al ritmo que el cliente las consume
+     */
+    public Flux<ProductSearchProjection> searchProducts(ProductSearchCommand searchCommand,
+                                                        String cursor, Integer limit) {
+        return Flux.defer(() -> {
+            log.debug("Ejecutando búsqueda reactiva de productos con criterios: {}", searchCommand);
+            ProductSearchCursor after;
+            try {
+                after = ProductSearchCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+            }
+            return reactiveProductRepository.searchProductsAfter(searchCommand, after, limit);
+        });
+    }
+
+    /**
+     * Categorías activas con su cantidad de productos
+     */
+    public Flux<CategoryResponse> getActiveCategories() {
+        log.debug("Listando categorías activas (reactivo)");
+        return reactiveCategoryRepository.findActiveWithProductCount();
+    }
+}
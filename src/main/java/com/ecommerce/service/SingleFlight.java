@@ -0,0 +1,75 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave en una sola ejecución (single-flight)
+ *
+ * La primera llamada ejecuta la carga; las que llegan mientras está en curso esperan y reciben
+ * el mismo resultado, o la misma excepción. Al terminar la clave se libera: no es una caché.
+ * Métrica ecommerce.single-flight.calls{operation, result=executed|coalesced}.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.executed = counter(meterRegistry, operation, "executed");
+        this.coalesced = counter(meterRegistry, operation, "coalesced");
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        // Se libera antes de completar: una llamada posterior ya no recibe este resultado
+        inFlight.remove(key, call);
+        call.complete(value);
+        return value;
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String operation, String result) {
+        return Counter.builder(MetricsConfig.SINGLE_FLIGHT_CALLS)
+                .description("Lecturas ejecutadas contra la base de datos o agrupadas con una idéntica en curso")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
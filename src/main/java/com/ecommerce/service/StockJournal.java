@@ -0,0 +1,259 @@
+package com.ecommerce.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal local de solo-append de las reservas de stock en memoria (perfil hot-stock)
+ *
+ * Registros de texto, uno por línea:
+ * R productId cantidad - reserva confirmada al cliente
+ * F flushId productId delta - intención de volcado (escrita antes de la transacción)
+ * C flushId / A flushId - volcado confirmado / abortado
+ *
+ * Un único hilo escribe los registros encolados y hace fsync por lote (group commit):
+ * la reserva se confirma al cliente solo cuando su registro es durable, sin un fsync por petición.
+ * Al superar el tamaño máximo el mismo hilo compacta el archivo al neto pendiente por producto.
+ */
+@Slf4j
+final class StockJournal implements AutoCloseable {
+
+    /**
+     * Reservas recuperadas que no llegaron a la base de datos y último flushId visto
+     */
+    record Recovery(Map<Long, Long> pending, long lastFlushId) {
+    }
+
+    private record Entry(String record, CompletableFuture<Void> written) {
+    }
+
+    /**
+     * Contenido del journal reducido: neto pendiente por producto y volcados sin C ni A
+     */
+    private record State(Map<Long, Long> pending, Map<Long, Map<Long, Long>> inFlight, long lastFlushId) {
+    }
+
+    private final Path file;
+    private final long maxBytes;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private FileChannel channel;
+    private volatile boolean running = true;
+
+    StockJournal(Path file, long maxBytes) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.channel = open(file);
+        this.writer = new Thread(this::writeLoop, "stock-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    static String reservation(long productId, int quantity) {
+        return "R " + productId + " " + quantity;
+    }
+
+    static String flushIntent(long flushId, long productId, long delta) {
+        return "F " + flushId + " " + productId + " " + delta;
+    }
+
+    static String flushCommit(long flushId) {
+        return "C " + flushId;
+    }
+
+    static String flushAbort(long flushId) {
+        return "A " + flushId;
+    }
+
+    /**
+     * Lee el journal tras un reinicio y lo reescribe con el neto pendiente por producto
+     * Un volcado sin C ni A se considera aplicado si su flushId no supera el checkpoint de la base de datos
+     */
+    static Recovery recover(Path file, long committedFlushId) throws IOException {
+        if (!Files.exists(file)) {
+            return new Recovery(Map.of(), 0);
+        }
+        State state = read(file);
+        Map<Long, Long> pending = new TreeMap<>(state.pending());
+        state.inFlight().forEach((flushId, deltas) -> {
+            if (flushId <= committedFlushId) {
+                deltas.forEach((productId, delta) -> pending.merge(productId, -delta, Long::sum));
+            }
+        });
+        pending.values().removeIf(value -> value == 0);
+        rewrite(file, new State(pending, Map.of(), state.lastFlushId()));
+        return new Recovery(pending, state.lastFlushId());
+    }
+
+    /**
+     * Encola un registro; el futuro se completa cuando el registro es durable
+     */
+    CompletableFuture<Void> append(String record) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        if (!running) {
+            written.completeExceptionally(new IllegalStateException("Journal de stock cerrado"));
+            return written;
+        }
+        queue.add(new Entry(record, written));
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                write(batch);
+                batch.forEach(entry -> entry.written().complete(null));
+                if (channel.size() > maxBytes) {
+                    compact();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException | RuntimeException e) {
+                // Tras un error el archivo puede terminar en una línea a medias: no se aceptan más registros
+                log.error("Error escribiendo el journal de stock {}, se rechazarán nuevas reservas: {}", file, e.getMessage());
+                batch.forEach(entry -> entry.written().completeExceptionally(e));
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+        queue.forEach(entry -> entry.written().completeExceptionally(new IllegalStateException("Journal de stock cerrado")));
+    }
+
+    private void write(List<Entry> batch) throws IOException {
+        StringBuilder lines = new StringBuilder(batch.size() * 24);
+        batch.forEach(entry -> lines.append(entry.record()).append('\n'));
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Reemplaza el archivo por su contenido reducido (solo desde el hilo escritor)
+     */
+    private void compact() throws IOException {
+        long before = channel.size();
+        channel.close();
+        State state = read(file);
+        rewrite(file, state);
+        channel = open(file);
+        log.info("Journal de stock compactado: {} -> {} bytes", before, channel.size());
+    }
+
+    private static State read(Path file) throws IOException {
+        Map<Long, Long> pending = new HashMap<>();
+        Map<Long, Map<Long, Long>> inFlight = new HashMap<>();
+        Set<Long> finished = new HashSet<>();
+        long lastFlushId = 0;
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        int end = content.lastIndexOf('\n');
+        if (end < content.length() - 1) {
+            // Una línea sin salto final quedó a medias por una caída durante la escritura: nunca se confirmó
+            log.warn("Registro incompleto al final del journal de stock ignorado: {}", content.substring(end + 1));
+        }
+        for (String line : content.substring(0, end + 1).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            try {
+                switch (fields[0]) {
+                    case "R" -> pending.merge(Long.parseLong(fields[1]), Long.parseLong(fields[2]), Long::sum);
+                    case "F" -> {
+                        long flushId = Long.parseLong(fields[1]);
+                        inFlight.computeIfAbsent(flushId, id -> new HashMap<>())
+                                .merge(Long.parseLong(fields[2]), Long.parseLong(fields[3]), Long::sum);
+                        lastFlushId = Math.max(lastFlushId, flushId);
+                    }
+                    case "C" -> {
+                        long flushId = Long.parseLong(fields[1]);
+                        Map<Long, Long> deltas = inFlight.remove(flushId);
+                        if (deltas != null) {
+                            deltas.forEach((productId, delta) -> pending.merge(productId, -delta, Long::sum));
+                        }
+                        finished.add(flushId);
+                    }
+                    case "A" -> {
+                        inFlight.remove(Long.parseLong(fields[1]));
+                        finished.add(Long.parseLong(fields[1]));
+                    }
+                    default -> log.warn("Registro desconocido en el journal de stock: {}", line);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Registro inválido en el journal de stock ignorado: {}", line);
+            }
+        }
+        inFlight.keySet().removeAll(finished);
+        return new State(pending, inFlight, lastFlushId);
+    }
+
+    /**
+     * Escribe el estado en un archivo temporal durable y lo reemplaza atómicamente
+     */
+    private static void rewrite(Path file, State state) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            for (Map.Entry<Long, Long> entry : state.pending().entrySet()) {
+                if (entry.getValue() != 0) {
+                    out.write("R " + entry.getKey() + " " + entry.getValue());
+                    out.newLine();
+                }
+            }
+            for (Map.Entry<Long, Map<Long, Long>> flush : state.inFlight().entrySet()) {
+                for (Map.Entry<Long, Long> delta : flush.getValue().entrySet()) {
+                    out.write(flushIntent(flush.getKey(), delta.getKey(), delta.getValue()));
+                    out.newLine();
+                }
+            }
+        }
+        try (FileChannel temporaryChannel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            temporaryChannel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,34 @@
+-- Esquema base del catálogo (equivalente al generado por Hibernate para las entidades)
+-- En bases existentes se omite gracias a spring.flyway.baseline-on-migrate
+
+CREATE TABLE categories (
+    category_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(100)   NOT NULL UNIQUE,
+    description  VARCHAR(500),
+    active       BOOLEAN        NOT NULL,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE TABLE products (
+    product_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(200)   NOT NULL,
+    description  VARCHAR(1000),
+    price        NUMERIC(12, 2) NOT NULL,
+    stock        INTEGER        NOT NULL,
+    image_url    VARCHAR(500),
+    brand        VARCHAR(50),
+    model        VARCHAR(100),
+    weight       NUMERIC(8, 3),
+    dimensions   VARCHAR(100),
+    active       BOOLEAN        NOT NULL,
+    featured     BOOLEAN        NOT NULL,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE TABLE product_categories (
+    product_id   BIGINT NOT NULL REFERENCES products (product_id),
+    category_id  BIGINT NOT NULL REFERENCES categories (category_id),
+    PRIMARY KEY (product_id, category_id)
+);
@@ -0,0 +1,15 @@
+-- Índices para la búsqueda de productos (motor ecommerce.search.engine = postgres)
+
+-- Trigramas: permiten que los filtros ILIKE '%texto%' de nombre, marca y modelo usen índice
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm  ON products USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_products_brand_trgm ON products USING GIN (brand gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_products_model_trgm ON products USING GIN (model gin_trgm_ops);
+
+-- Full-text search sobre nombre, marca, modelo y descripción con ranking (ts_rank)
+-- La expresión debe coincidir exactamente con SEARCH_DOCUMENT en ProductSearchRepositoryImpl
+CREATE INDEX IF NOT EXISTS idx_products_search_fts ON products USING GIN (
+    to_tsvector('spanish', coalesce(name, '') || ' ' || coalesce(brand, '') || ' ' ||
+                           coalesce(model, '') || ' ' || coalesce(description, ''))
+);
@@ -0,0 +1,3 @@
+-- Búsqueda inversa categoría -> productos (filtro categoryIds de la búsqueda e invalidación de caché)
+-- La PK (product_id, category_id) ya cubre la agregación de categorías por producto
+CREATE INDEX IF NOT EXISTS idx_product_categories_category ON product_categories (category_id);
@@ -0,0 +1,13 @@
+-- IDs por secuencia con optimizador pooled/pooled-lo (reemplaza IDENTITY para permitir JDBC batching)
+-- INCREMENT BY = ecommerce.jpa.id.allocation-size (placeholder idAllocationSize de Flyway)
+-- Cada secuencia arranca por encima del máximo actual + un bloque completo, válido para ambos optimizadores
+
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY ${idAllocationSize};
+SELECT setval('categories_seq', COALESCE((SELECT MAX(category_id) FROM categories), 0) + ${idAllocationSize} + 1, false);
+ALTER TABLE categories ALTER COLUMN category_id DROP IDENTITY IF EXISTS;
+ALTER TABLE categories ALTER COLUMN category_id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY ${idAllocationSize};
+SELECT setval('products_seq', COALESCE((SELECT MAX(product_id) FROM products), 0) + ${idAllocationSize} + 1, false);
+ALTER TABLE products ALTER COLUMN product_id DROP IDENTITY IF EXISTS;
+ALTER TABLE products ALTER COLUMN product_id DROP DEFAULT;
@@ -0,0 +1,15 @@
+-- Contadores de productos activos por categoría, mantenidos de forma incremental por la aplicación
+-- (CategoryProductCountResolver) en la misma transacción que las escrituras de productos
+CREATE TABLE IF NOT EXISTS category_product_counts (
+    category_id           BIGINT  NOT NULL PRIMARY KEY REFERENCES categories (category_id),
+    active_product_count  INTEGER NOT NULL
+);
+
+-- Carga inicial con el recuento actual
+INSERT INTO category_product_counts (category_id, active_product_count)
+SELECT c.category_id,
+       (SELECT COUNT(*) FROM product_categories pc
+          JOIN products p ON p.product_id = pc.product_id
+         WHERE pc.category_id = c.category_id AND p.active = true)
+  FROM categories c
+ON CONFLICT (category_id) DO NOTHING;
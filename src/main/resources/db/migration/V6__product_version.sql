@@ -0,0 +1,3 @@
+-- Bloqueo optimista de productos (@Version en Product)
+-- Las filas existentes arrancan en 0; el DEFAULT cubre inserciones fuera de JPA
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
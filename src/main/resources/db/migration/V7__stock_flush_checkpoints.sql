@@ -0,0 +1,6 @@
+-- Checkpoint del volcado write-behind de stock en memoria (perfil hot-stock, HotStockEngine)
+-- Una fila por instancia; se actualiza en la misma transacción que descuenta products.stock
+CREATE TABLE IF NOT EXISTS stock_flush_checkpoints (
+    node_id        VARCHAR(100) NOT NULL PRIMARY KEY,
+    last_flush_id  BIGINT       NOT NULL
+);
@@ -0,0 +1,26 @@
+-- Outbox transaccional de cambios de productos y categorías (ChangeOutboxService)
+-- Las filas se insertan en la misma transacción que la escritura; el publicador les asigna
+-- feed_position en orden de publicación (GET /changes?since=) bajo el bloqueo de change_feed_state
+CREATE SEQUENCE IF NOT EXISTS change_events_seq INCREMENT BY ${idAllocationSize};
+
+CREATE TABLE IF NOT EXISTS change_events (
+    event_id       BIGINT      NOT NULL PRIMARY KEY,
+    entity_type    VARCHAR(20) NOT NULL,
+    entity_id      BIGINT      NOT NULL,
+    operation      VARCHAR(20) NOT NULL,
+    occurred_at    TIMESTAMP   NOT NULL,
+    feed_position  BIGINT,
+    published_at   TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_events_pending ON change_events (event_id) WHERE feed_position IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_change_events_feed_position ON change_events (feed_position);
+CREATE INDEX IF NOT EXISTS idx_change_events_published_at ON change_events (published_at);
+
+-- Una sola fila: última posición asignada en el feed
+CREATE TABLE IF NOT EXISTS change_feed_state (
+    state_id       INTEGER NOT NULL PRIMARY KEY,
+    last_position  BIGINT  NOT NULL
+);
+
+INSERT INTO change_feed_state (state_id, last_position) VALUES (1, 0) ON CONFLICT (state_id) DO NOTHING;
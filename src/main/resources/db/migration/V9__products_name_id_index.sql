@@ -0,0 +1,4 @@
+-- Orden de la búsqueda con cursor (ORDER BY name, product_id): cada página arranca en la posición
+-- del cursor en lugar de ordenar todo el conjunto filtrado
+-- Migración propia y no en V1: las bases existentes se marcan como baseline y nunca ejecutan V1
+CREATE INDEX IF NOT EXISTS idx_products_name_id ON products (name, product_id);
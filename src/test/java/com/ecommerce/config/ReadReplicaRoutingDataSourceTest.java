@@ -0,0 +1,138 @@
+package com.ecommerce.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutamiento de ReadReplicaRoutingDataSource entre bases H2 en memoria separadas
+ * DATABASE() indica a qué base llegó cada consulta
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag_ms FROM replication_lag";
+    private static final long MAX_LAG_MS = 1000;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void lasTransaccionesDeSoloLecturaVanALaReplicaYElRestoALaPrimaria() {
+        ReadReplicaRoutingDataSource routing = routing("primary-a", "replica-a");
+        routing.checkReplicas();
+
+        assertThat(database(routing, true)).isEqualToIgnoringCase("replica-a");
+        assertThat(database(routing, false)).isEqualToIgnoringCase("primary-a");
+        // Sin transacción no hay marca de solo lectura: primaria
+        assertThat(new JdbcTemplate(new LazyConnectionDataSourceProxy(routing))
+                .queryForObject("CALL DATABASE()", String.class)).isEqualToIgnoringCase("primary-a");
+    }
+
+    @Test
+    void lasLecturasSeRepartenPorTurnosEntreLasReplicasDisponibles() {
+        ReadReplicaRoutingDataSource routing = routing("primary-b", "replica-b1", "replica-b2");
+        routing.checkReplicas();
+
+        List<String> databases = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            databases.add(database(routing, true).toLowerCase());
+        }
+
+        assertThat(databases).containsOnly("replica-b1", "replica-b2");
+        assertThat(databases.get(0)).isNotEqualTo(databases.get(1));
+        assertThat(databases.get(0)).isEqualTo(databases.get(2));
+    }
+
+    @Test
+    void unaReplicaSinVerificarNoRecibeLecturas() {
+        ReadReplicaRoutingDataSource routing = routing("primary-c", "replica-c");
+
+        assertThat(database(routing, true)).isEqualToIgnoringCase("primary-c");
+    }
+
+    @Test
+    void siLaReplicaNoEntregaConexionLaLecturaVaALaPrimariaYQuedaFueraDeServicio() {
+        ReadReplicaRoutingDataSource routing = routing("primary-d", "replica-d");
+        routing.checkReplicas();
+        ReadReplicaRoutingDataSource.Replica replica = routing.getReplicas().get(0);
+
+        replica.getDataSource().close();
+
+        assertThat(database(routing, true)).isEqualToIgnoringCase("primary-d");
+        assertThat(replica.isAvailable()).isFalse();
+        routing.checkReplicas();
+        assertThat(replica.isAvailable()).isFalse();
+        assertThat(replica.getLagMillis()).isEqualTo(-1);
+    }
+
+    @Test
+    void unaReplicaAtrasadaSaleDeServicioYVuelveAlPonerseAlDia() {
+        ReadReplicaRoutingDataSource routing = routing("primary-e", "replica-e");
+        ReadReplicaRoutingDataSource.Replica replica = routing.getReplicas().get(0);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica.getDataSource());
+
+        replicaJdbc.update("UPDATE replication_lag SET lag_ms = ?", MAX_LAG_MS + 1);
+        routing.checkReplicas();
+        assertThat(replica.isAvailable()).isFalse();
+        assertThat(replica.getLagMillis()).isEqualTo(MAX_LAG_MS + 1);
+        assertThat(database(routing, true)).isEqualToIgnoringCase("primary-e");
+
+        replicaJdbc.update("UPDATE replication_lag SET lag_ms = ?", 10);
+        routing.checkReplicas();
+        assertThat(replica.isAvailable()).isTrue();
+        assertThat(replica.getLagMillis()).isEqualTo(10);
+        assertThat(database(routing, true)).isEqualToIgnoringCase("replica-e");
+    }
+
+    /**
+     * Primaria y réplicas en bases separadas; cada réplica con su tabla de retraso (0 ms)
+     */
+    private ReadReplicaRoutingDataSource routing(String primary, String... replicaNames) {
+        List<ReadReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String name : replicaNames) {
+            HikariDataSource replicaPool = pool(name);
+            JdbcTemplate replicaJdbc = new JdbcTemplate(replicaPool);
+            replicaJdbc.execute("CREATE TABLE replication_lag (lag_ms BIGINT)");
+            replicaJdbc.update("INSERT INTO replication_lag VALUES (0)");
+            replicas.add(new ReadReplicaRoutingDataSource.Replica(name, replicaPool));
+        }
+        return new ReadReplicaRoutingDataSource(pool(primary), replicas, LAG_QUERY, MAX_LAG_MS);
+    }
+
+    private HikariDataSource pool(String database) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + database);
+        config.setUsername("sa");
+        config.setPoolName(database);
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(1000);
+        HikariDataSource pool = new HikariDataSource(config);
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Base a la que llega una consulta dentro de una transacción, como en ReadReplicaConfig
+     */
+    private static String database(ReadReplicaRoutingDataSource routing, boolean readOnly) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("CALL DATABASE()", String.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arranque con los perfiles virtual-threads y read-replicas a la vez
+ * La réplica es otra base H2 en memoria; DATABASE() indica a qué base llegó cada consulta
+ */
+@SpringBootTest(properties = {
+        "ecommerce.datasource.read-replicas.urls=jdbc:h2:mem:replica-virtual-threads;DB_CLOSE_DELAY=-1",
+        "ecommerce.datasource.read-replicas.lag-query="
+})
+@ActiveProfiles({"test", "virtual-threads", "read-replicas"})
+class ReadReplicaVirtualThreadsIntegrationTest {
+
+    private static final String REPLICA_DATABASE = "replica-virtual-threads";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void soloElDataSourceDeLaAplicacionSeLimitaConPermisosParaPrimariaYReplica() {
+        assertThat(primaryDataSource).isInstanceOf(HikariDataSource.class);
+        // Pool de la primaria (10 por defecto) más el de la réplica (mismo tamaño)
+        assertThat(dataSource).isInstanceOfSatisfying(ConcurrencyLimitedDataSource.class,
+                limited -> assertThat(limited.getAvailablePermits()).isEqualTo(20));
+    }
+
+    @Test
+    void lasTransaccionesDeSoloLecturaLleganALaReplicaAtravesDelSemaforo() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String readOnlyDatabase = readOnly.execute(status -> jdbcTemplate.queryForObject("CALL DATABASE()", String.class));
+        String readWriteDatabase = new TransactionTemplate(transactionManager)
+                .execute(status -> jdbcTemplate.queryForObject("CALL DATABASE()", String.class));
+
+        assertThat(readOnlyDatabase).isEqualToIgnoringCase(REPLICA_DATABASE);
+        assertThat(readWriteDatabase).isNotEqualToIgnoringCase(REPLICA_DATABASE);
+    }
+}
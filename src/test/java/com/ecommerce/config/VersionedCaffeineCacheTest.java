@@ -0,0 +1,58 @@
+package com.ecommerce.config;
+
+import com.ecommerce.dto.response.ProductResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guarda de VersionedCaffeineCache sobre cargas que terminan después de una invalidación
+ */
+class VersionedCaffeineCacheTest {
+
+    private final VersionedCaffeineCache cache = new VersionedCaffeineCache("products", Caffeine.newBuilder().build(),
+            value -> ((ProductResponse) value).getVersion());
+
+    @Test
+    void unaCargaQueEmpezoAntesDeLaInvalidacionNoSeGuarda() {
+        long loadStamp = cache.startLoad();
+        cache.evict(1L);
+
+        assertThat(cache.putIfCurrent(1L, product(1L, 0L), loadStamp)).isFalse();
+        assertThat(cache.get(1L)).isNull();
+
+        assertThat(cache.putIfCurrent(1L, product(1L, 1L), cache.startLoad())).isTrue();
+        assertThat(cache.get(1L, ProductResponse.class).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void unaCargaQueEmpezoAntesDeVaciarLaCacheNoSeGuarda() {
+        long loadStamp = cache.startLoad();
+        cache.clear();
+
+        assertThat(cache.putIfCurrent(1L, product(1L, 0L), loadStamp)).isFalse();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void unaVersionAnteriorNoReemplazaALaCacheada() {
+        cache.putIfCurrent(1L, product(1L, 3L), cache.startLoad());
+
+        assertThat(cache.putIfCurrent(1L, product(1L, 2L), cache.startLoad())).isFalse();
+        assertThat(cache.get(1L, ProductResponse.class).getVersion()).isEqualTo(3L);
+        assertThat(cache.putIfCurrent(1L, product(1L, 4L), cache.startLoad())).isTrue();
+    }
+
+    @Test
+    void lasInvalidacionesDeOtrasClavesNoAfectanLaCarga() {
+        long loadStamp = cache.startLoad();
+        cache.evict(2L);
+
+        assertThat(cache.putIfCurrent(1L, product(1L, 0L), loadStamp)).isTrue();
+    }
+
+    private static ProductResponse product(Long id, Long version) {
+        return ProductResponse.builder().id(id).version(version).build();
+    }
+}
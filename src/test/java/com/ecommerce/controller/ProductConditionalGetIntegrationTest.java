@@ -0,0 +1,86 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.service.CategoryService;
+import com.ecommerce.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /products/{id} condicional: el ETag de la representación completa se calcula sobre la respuesta
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long categoryId;
+
+    private Long productId;
+
+    @BeforeEach
+    void createProduct() {
+        categoryId = categoryService.createCategory(CategoryCreateCommand.builder()
+                .name("Herramientas " + System.nanoTime())
+                .active(true)
+                .build()).getId();
+        productId = create("Taladro");
+    }
+
+    @Test
+    void conElMismoETagRespondeNotModified() throws Exception {
+        String eTag = eTag();
+
+        mockMvc.perform(get("/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void elETagCambiaCuandoCambiaElProductCountDeUnaCategoria() throws Exception {
+        String before = eTag();
+
+        create("Destornillador");
+
+        String after = eTag();
+        assertThat(after).isNotEqualTo(before);
+        mockMvc.perform(get("/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    private String eTag() throws Exception {
+        return mockMvc.perform(get("/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Long create(String name) {
+        return productService.createProduct(ProductCreateCommand.builder()
+                .name(name)
+                .price(new BigDecimal("80.00"))
+                .stock(3)
+                .active(true)
+                .categoryIds(List.of(categoryId))
+                .build()).getId();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.request.ProductSearchRequest;
+import com.ecommerce.dto.response.ProductCursorPageResponse;
+import com.ecommerce.dto.response.ProductFacetsResponse;
+import com.ecommerce.dto.response.ProductResponse;
+import com.ecommerce.service.HotStockEngine;
+import com.ecommerce.service.ProductExportService;
+import com.ecommerce.service.ProductFacetService;
+import com.ecommerce.service.ProductFeedService;
+import com.ecommerce.service.ProductImportService;
+import com.ecommerce.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProductController con servicios simulados
+ */
+class ProductControllerTest {
+
+    private final ProductService productService = mock(ProductService.class);
+    private final ProductFacetService productFacetService = mock(ProductFacetService.class);
+    private final ProductFeedService productFeedService = mock(ProductFeedService.class);
+
+    @SuppressWarnings("unchecked")
+    private final ProductController controller = new ProductController(productService,
+            mock(ProductImportService.class), mock(ProductExportService.class), productFeedService,
+            productFacetService, mock(ObjectProvider.class));
+
+    @Test
+    void lasFacetasNoModificanLaPaginaPorCursorCompartidaPorSingleFlight() {
+        // La misma instancia que recibirían todas las llamadas agrupadas
+        ProductCursorPageResponse<ProductSearchProjection> shared = ProductCursorPageResponse.<ProductSearchProjection>builder()
+                .content(List.of())
+                .size(10)
+                .numberOfElements(0)
+                .hasNext(false)
+                .build();
+        ProductFacetsResponse facets = ProductFacetsResponse.builder().brands(List.of()).build();
+        when(productService.searchProductsByCursor(any(), any(), anyInt(), anyBoolean())).thenReturn(shared);
+        when(productFacetService.getFacets(any())).thenReturn(facets);
+
+        Object withFacets = controller.searchProducts(cursorRequest(true), null).getBody();
+        Object withoutFacets = controller.searchProducts(cursorRequest(false), null).getBody();
+
+        assertThat(withFacets).isInstanceOfSatisfying(ProductCursorPageResponse.class, page -> {
+            assertThat(page).isNotSameAs(shared);
+            assertThat(page.getFacets()).isSameAs(facets);
+            assertThat(page.getSize()).isEqualTo(10);
+        });
+        assertThat(shared.getFacets()).isNull();
+        assertThat(withoutFacets).isSameAs(shared);
+    }
+
+    @Test
+    void losFeedsEnvianElTotalRealEnXTotalCount() {
+        Page<ProductResponse> capped = new PageImpl<>(List.of(), PageRequest.of(0, 10), 500);
+        when(productFeedService.getFeaturedProducts(any())).thenReturn(capped);
+        when(productFeedService.getFeaturedTotal()).thenReturn(1200L);
+        when(productFeedService.getLowStockProducts(any())).thenReturn(capped);
+        when(productFeedService.getLowStockTotal()).thenReturn(650L);
+
+        assertThat(controller.getFeaturedProducts(0, 10).getHeaders().getFirst(ProductController.TOTAL_COUNT_HEADER))
+                .isEqualTo("1200");
+        assertThat(controller.getLowStockProducts(0, 10).getHeaders().getFirst(ProductController.TOTAL_COUNT_HEADER))
+                .isEqualTo("650");
+    }
+
+    private static ProductSearchRequest cursorRequest(boolean includeFacets) {
+        return ProductSearchRequest.builder()
+                .paginationMode("cursor")
+                .includeFacets(includeFacets)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paginación por cursor (keyset) de POST /products/search
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductSearchCursorIntegrationTest {
+
+    private static final String BRAND = "CursorKeysetTest";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void elCursorRecorreTodasLasFilasConNombresRepetidosSinSaltosNiDuplicados() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (String name : List.of("Cable", "Cable", "Adaptador", "Cable", "Cable", "Hub")) {
+            created.add(productService.createProduct(ProductCreateCommand.builder()
+                    .name(name)
+                    .price(new BigDecimal("10.00"))
+                    .stock(5)
+                    .brand(BRAND)
+                    .active(true)
+                    .build()).getId());
+        }
+        // Orden keyset (name, id): Adaptador, los cuatro Cable por ID, Hub
+        List<Long> keysetOrder = List.of(created.get(2), created.get(0), created.get(1), created.get(3),
+                created.get(4), created.get(5));
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = search(cursor);
+            page.get("content").forEach(product -> visited.add(product.get("id").asLong()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        assertThat(visited).containsExactlyElementsOf(keysetOrder);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void unCursorMalFormadoRespondeBadRequest() throws Exception {
+        mockMvc.perform(post("/products/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cursor\":\"garbage!!\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/products/search")
+                        .param("fields", "id,name")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cursor\":\"garbage!!\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode search(String cursor) throws Exception {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("brand", BRAND);
+        request.put("paginationMode", "cursor");
+        request.put("size", 2);
+        request.put("cursor", cursor);
+        String body = mockMvc.perform(post("/products/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.dto.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductSearchCursorTest {
+
+    @Test
+    void encodeYDecodeConservanNombreEId() {
+        ProductSearchCursor cursor = new ProductSearchCursor("Cámara: 4K / Ñandú", 42L);
+
+        ProductSearchCursor decoded = ProductSearchCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void tokenNuloOVacioEsElInicioDeLaBusqueda() {
+        assertThat(ProductSearchCursor.decode(null)).isNull();
+        assertThat(ProductSearchCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void tokenMalFormadoEsInvalido() {
+        String sinSeparador = token("42");
+        String idNoNumerico = token("abc:nombre");
+
+        assertThatThrownBy(() -> ProductSearchCursor.decode("garbage!!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductSearchCursor.decode(sinSeparador))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductSearchCursor.decode(idNoNumerico))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductField;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.entity.Product;
+import com.ecommerce.service.CategoryService;
+import com.ecommerce.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lecturas de la búsqueda con SQL nativo
+ * Las marcas de tiempo deben coincidir con las que lee Hibernate (hibernate.jdbc.time_zone
+ * distinta de la zona de la JVM en la configuración de tests) y las categorías llegan como listas alineadas
+ */
+@SpringBootTest
+class ProductSearchRepositoryImplIntegrationTest {
+
+    private static final String BRAND = "SearchTimestampsTest";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Product product;
+
+    private ProductSearchCommand command;
+
+    @BeforeEach
+    void createProduct() {
+        Long id = productService.createProduct(ProductCreateCommand.builder()
+                .name("Teclado mecánico")
+                .price(new BigDecimal("120.00"))
+                .stock(3)
+                .brand(BRAND)
+                .active(true)
+                .build()).getId();
+        product = productRepository.findById(id).orElseThrow();
+        command = ProductSearchCommand.builder().brand(BRAND).build();
+    }
+
+    @Test
+    void laBusquedaPorOffsetYPorCursorLeeLaMismaHoraQueJpa() {
+        ProductSearchProjection byOffset = find(productRepository.searchProducts(command, PageRequest.of(0, 50)).stream());
+        ProductSearchProjection byCursor = find(productRepository.searchProductsAfter(command, null, 50).stream());
+
+        assertThat(byOffset.getCreatedAt()).isEqualTo(product.getCreatedAt());
+        assertThat(byOffset.getUpdatedAt()).isEqualTo(product.getUpdatedAt());
+        assertThat(byCursor.getCreatedAt()).isEqualTo(product.getCreatedAt());
+        assertThat(byCursor.getUpdatedAt()).isEqualTo(product.getUpdatedAt());
+    }
+
+    @Test
+    void losCamposSeleccionadosLeenLaMismaHoraQueJpa() {
+        Map<String, Object> row = productRepository.findProductFieldsById(product.getId(),
+                EnumSet.of(ProductField.ID, ProductField.CREATED_AT, ProductField.UPDATED_AT)).orElseThrow();
+
+        assertThat(row).containsEntry("createdAt", product.getCreatedAt())
+                .containsEntry("updatedAt", product.getUpdatedAt());
+    }
+
+    @Test
+    void elStreamingDeExportacionLeeLaMismaHoraQueJpa() {
+        try (Stream<ProductSearchProjection> products = productRepository.streamActiveProducts(100)) {
+            ProductSearchProjection streamed = find(products);
+
+            assertThat(streamed.getCreatedAt()).isEqualTo(product.getCreatedAt());
+            assertThat(streamed.getUpdatedAt()).isEqualTo(product.getUpdatedAt());
+        }
+    }
+
+    @Test
+    void losIdsYNombresDeCategoriasQuedanAlineadosAunqueLosNombresTenganComas() {
+        // Creada primero (ID menor) pero alfabéticamente después
+        Long shoes = createCategory("Zapatos, botas y sandalias");
+        Long accessories = createCategory("Accesorios");
+        product = productRepository.findById(productService.createProduct(ProductCreateCommand.builder()
+                .name("Kit de limpieza")
+                .price(new BigDecimal("18.00"))
+                .stock(7)
+                .brand(BRAND)
+                .active(true)
+                .categoryIds(List.of(accessories, shoes))
+                .build()).getId()).orElseThrow();
+
+        ProductSearchProjection found = find(productRepository.searchProducts(command, PageRequest.of(0, 50)).stream());
+        Map<String, Object> row = productRepository.findProductFieldsById(product.getId(),
+                EnumSet.of(ProductField.ID, ProductField.CATEGORY_IDS, ProductField.CATEGORY_NAMES)).orElseThrow();
+
+        assertThat(found.getCategoryIds()).containsExactly(shoes, accessories);
+        assertThat(found.getCategoryNames()).containsExactly("Zapatos, botas y sandalias", "Accesorios");
+        assertThat(row).containsEntry("categoryIds", List.of(shoes, accessories))
+                .containsEntry("categoryNames", List.of("Zapatos, botas y sandalias", "Accesorios"));
+    }
+
+    @Test
+    void unProductoSinCategoriasTieneListasVacias() {
+        ProductSearchProjection found = find(productRepository.searchProducts(command, PageRequest.of(0, 50)).stream());
+
+        assertThat(found.getCategoryIds()).isEmpty();
+        assertThat(found.getCategoryNames()).isEmpty();
+    }
+
+    private Long createCategory(String name) {
+        return categoryService.createCategory(CategoryCreateCommand.builder()
+                .name(name)
+                .active(true)
+                .build()).getId();
+    }
+
+    private ProductSearchProjection find(Stream<ProductSearchProjection> products) {
+        return products.filter(candidate -> candidate.getId().equals(product.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
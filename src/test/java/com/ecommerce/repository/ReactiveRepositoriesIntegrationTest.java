@@ -0,0 +1,100 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.response.CategoryResponse;
+import com.ecommerce.entity.Category;
+import com.ecommerce.entity.Product;
+import com.ecommerce.service.CategoryService;
+import com.ecommerce.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los repositorios R2DBC deben leer las mismas horas que JPA y que la búsqueda JDBC
+ * (hibernate.jdbc.time_zone distinta de la zona de la JVM en la configuración de tests)
+ * JDBC y R2DBC abren la misma base H2 en memoria por nombre
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-repositories;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-repositories"
+})
+@ActiveProfiles({"test", "reactive"})
+class ReactiveRepositoriesIntegrationTest {
+
+    private static final String BRAND = "ReactiveTimestampsTest";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReactiveProductRepository reactiveProductRepository;
+
+    @Autowired
+    private ReactiveCategoryRepository reactiveCategoryRepository;
+
+    @Test
+    void losProductosLeidosPorR2dbcTienenLaMismaHoraQueJpaYQueJdbc() {
+        Long categoryId = categoryService.createCategory(CategoryCreateCommand.builder()
+                .name("Iluminación reactiva")
+                .active(true)
+                .build()).getId();
+        Product product = productRepository.findById(productService.createProduct(ProductCreateCommand.builder()
+                .name("Lámpara de escritorio")
+                .price(new BigDecimal("64.00"))
+                .stock(4)
+                .brand(BRAND)
+                .active(true)
+                .categoryIds(List.of(categoryId))
+                .build()).getId()).orElseThrow();
+        ProductSearchCommand command = ProductSearchCommand.builder().brand(BRAND).build();
+
+        ProductSearchProjection jdbc = productRepository.searchProductsAfter(command, null, 10).get(0);
+        ProductSearchProjection byId = reactiveProductRepository.findById(product.getId()).block(TIMEOUT);
+        ProductSearchProjection byCursor = reactiveProductRepository.searchProductsAfter(command, null, 10)
+                .blockFirst(TIMEOUT);
+
+        for (ProductSearchProjection reactive : List.of(byId, byCursor)) {
+            assertThat(reactive.getId()).isEqualTo(product.getId());
+            assertThat(reactive.getCreatedAt()).isEqualTo(product.getCreatedAt()).isEqualTo(jdbc.getCreatedAt());
+            assertThat(reactive.getUpdatedAt()).isEqualTo(product.getUpdatedAt()).isEqualTo(jdbc.getUpdatedAt());
+            assertThat(reactive.getCategoryIds()).containsExactly(categoryId);
+        }
+    }
+
+    @Test
+    void lasCategoriasLeidasPorR2dbcTienenLaMismaHoraQueJpa() {
+        Category category = categoryRepository.findById(categoryService.createCategory(CategoryCreateCommand.builder()
+                .name("Jardinería reactiva")
+                .active(true)
+                .build()).getId()).orElseThrow();
+
+        CategoryResponse reactive = reactiveCategoryRepository.findActiveWithProductCount()
+                .filter(candidate -> candidate.getId().equals(category.getId()))
+                .blockFirst(TIMEOUT);
+
+        assertThat(reactive).isNotNull();
+        assertThat(reactive.getCreatedAt()).isEqualTo(category.getCreatedAt());
+        assertThat(reactive.getUpdatedAt()).isEqualTo(category.getUpdatedAt());
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.repository.CategoryProductCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mantenimiento incremental de category_product_counts en las escrituras de productos
+ */
+@SpringBootTest
+class CategoryProductCountResolverIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryProductCountResolver categoryProductCountResolver;
+
+    @Autowired
+    private CategoryProductCountRepository categoryProductCountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long first;
+
+    private Long second;
+
+    @BeforeEach
+    void createCategories() {
+        first = createCategory("Relojes");
+        second = createCategory("Joyería");
+    }
+
+    @Test
+    void crearUnProductoSumaUnoEnCadaCategoria() {
+        create("Reloj de pulsera", List.of(first, second), true);
+        create("Reloj de pared", List.of(first), true);
+        create("Reloj descontinuado", List.of(first), false);
+
+        assertCounts(2, 1);
+    }
+
+    @Test
+    void actualizarLasCategoriasMueveElConteo() {
+        Long id = create("Cronómetro", List.of(first), true);
+
+        productService.updateProduct(id, command("Cronómetro", List.of(second), true));
+
+        assertCounts(0, 1);
+    }
+
+    @Test
+    void eliminarUnProductoLoDesactivaYRestaUnoSoloLaPrimeraVez() {
+        Long deleted = create("Reloj de arena", List.of(first, second), true);
+        create("Reloj solar", List.of(first), true);
+
+        productService.deleteProduct(deleted);
+        assertCounts(1, 0);
+
+        productService.deleteProduct(deleted);
+        assertCounts(1, 0);
+    }
+
+    @Test
+    void sinContadorLaCategoriaSeRecalculaConElCambioIncluido() {
+        create("Reloj de bolsillo", List.of(first), true);
+        categoryProductCountRepository.deleteById(first);
+
+        create("Reloj despertador", List.of(first), true);
+
+        assertThat(categoryProductCountRepository.findById(first))
+                .hasValueSatisfying(count -> assertThat(count.getActiveProductCount()).isEqualTo(2));
+        assertCounts(2, 0);
+    }
+
+    @Test
+    void eliminarUnProductoDeUnaCategoriaSinContadorRecalculaSinElProducto() {
+        Long deleted = create("Reloj de cuco", List.of(first), true);
+        create("Reloj de torre", List.of(first), true);
+        categoryProductCountRepository.deleteById(first);
+
+        productService.deleteProduct(deleted);
+
+        assertThat(categoryProductCountRepository.findById(first))
+                .hasValueSatisfying(count -> assertThat(count.getActiveProductCount()).isEqualTo(1));
+        assertCounts(1, 0);
+    }
+
+    @Test
+    void elRecuentoNoSobrescribeUnContadorExistente() {
+        create("Reloj digital", List.of(first), true);
+
+        Integer inserted = transactionTemplate.execute(status ->
+                categoryProductCountRepository.mergeRecountedCountIfAbsent(first));
+
+        assertThat(inserted).isZero();
+        assertCounts(1, 0);
+    }
+
+    private void assertCounts(int firstCount, int secondCount) {
+        assertThat(categoryProductCountResolver.countProducts(List.of(first, second)))
+                .containsEntry(first, firstCount)
+                .containsEntry(second, secondCount);
+    }
+
+    private Long createCategory(String name) {
+        return categoryService.createCategory(CategoryCreateCommand.builder()
+                .name(name + " " + System.nanoTime())
+                .active(true)
+                .build()).getId();
+    }
+
+    private Long create(String name, List<Long> categoryIds, boolean active) {
+        return productService.createProduct(command(name, categoryIds, active)).getId();
+    }
+
+    private static ProductCreateCommand command(String name, List<Long> categoryIds, boolean active) {
+        return ProductCreateCommand.builder()
+                .name(name)
+                .price(new BigDecimal("120.00"))
+                .stock(2)
+                .active(active)
+                .featured(false)
+                .categoryIds(categoryIds)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.DatabaseEngine;
+import com.ecommerce.repository.CategoryProductCountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Creación del contador que falta cuando otra transacción lo crea en paralelo
+ */
+class CategoryProductCountResolverTest {
+
+    private final CategoryProductCountRepository repository = mock(CategoryProductCountRepository.class);
+
+    @Test
+    void siOtraTransaccionCreoElContadorSeLeSumaElDelta() {
+        when(repository.addToActiveProductCount(7L, 1)).thenReturn(0, 1);
+        when(repository.insertRecountedCountIfAbsent(7L)).thenReturn(0);
+
+        resolver("org.hibernate.dialect.PostgreSQLDialect").addToActiveProductCounts(Map.of(7L, 1));
+
+        verify(repository, times(2)).addToActiveProductCount(7L, 1);
+        verify(repository, never()).mergeRecountedCountIfAbsent(7L);
+    }
+
+    @Test
+    void siElRecuentoCreaElContadorNoSeSumaDosVeces() {
+        when(repository.addToActiveProductCount(7L, 1)).thenReturn(0);
+        when(repository.mergeRecountedCountIfAbsent(7L)).thenReturn(1);
+
+        resolver("org.hibernate.dialect.H2Dialect").addToActiveProductCounts(Map.of(7L, 1));
+
+        verify(repository, times(1)).addToActiveProductCount(7L, 1);
+        verify(repository, never()).insertRecountedCountIfAbsent(7L);
+    }
+
+    private CategoryProductCountResolver resolver(String dialect) {
+        return new CategoryProductCountResolver(repository, new ConcurrentMapCacheManager(),
+                new DatabaseEngine(dialect), mock(PlatformTransactionManager.class));
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.entity.ChangeEvent;
+import com.ecommerce.repository.ChangeEventRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Outbox transaccional de cambios y feed GET /changes
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeOutboxServiceIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ChangeOutboxService changeOutboxService;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void elOutboxSeConfirmaYSeRevierteConLaEscrituraYElFeedSeRetomaDesdeSince() throws Exception {
+        changeOutboxService.publishPending();
+        long since = tail();
+
+        // Escritura revertida: ni el producto ni su cambio deben quedar
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long rolledBack = transaction.execute(status -> {
+            Long id = productService.createProduct(command("Producto revertido")).getId();
+            status.setRollbackOnly();
+            return id;
+        });
+        assertThat(productRepository.findById(rolledBack)).isEmpty();
+        assertThat(eventsFor(rolledBack)).isEmpty();
+
+        // Escrituras confirmadas: cada una deja su cambio en el outbox en el mismo commit
+        Long first = productService.createProduct(command("Producto del feed A")).getId();
+        assertThat(eventsFor(first)).singleElement()
+                .satisfies(event -> assertThat(event.getOperation()).isEqualTo(ChangeEvent.Operation.CREATED));
+        productService.updateProduct(first, command("Producto del feed A editado"));
+        Long second = productService.createProduct(command("Producto del feed B")).getId();
+        changeOutboxService.publishPending();
+
+        // Recorrido de a dos cambios, retomando con el nextCursor de cada página
+        List<JsonNode> changes = new ArrayList<>();
+        boolean hasMore;
+        do {
+            JsonNode page = feed(since, 2);
+            page.get("changes").forEach(changes::add);
+            assertThat(page.get("nextCursor").asLong()).isGreaterThanOrEqualTo(since);
+            since = page.get("nextCursor").asLong();
+            hasMore = page.get("hasMore").asBoolean();
+        } while (hasMore);
+
+        List<JsonNode> ours = changes.stream()
+                .filter(change -> Set.of(first, second, rolledBack).contains(change.get("entityId").asLong()))
+                .toList();
+        assertThat(ours).extracting(change -> change.get("entityId").asLong() + " " + change.get("operation").asText())
+                .containsExactly(first + " CREATED", first + " UPDATED", second + " CREATED");
+        // Posiciones contiguas: ningún cambio confirmado se salta ni se repite
+        for (int i = 1; i < changes.size(); i++) {
+            assertThat(changes.get(i).get("position").asLong())
+                    .isEqualTo(changes.get(i - 1).get("position").asLong() + 1);
+        }
+        assertThat(feed(since, 2).get("changes")).isEmpty();
+    }
+
+    private long tail() throws Exception {
+        long since = 0;
+        JsonNode page;
+        do {
+            page = feed(since, 1000);
+            since = page.get("nextCursor").asLong();
+        } while (page.get("hasMore").asBoolean());
+        return since;
+    }
+
+    private JsonNode feed(long since, int limit) throws Exception {
+        String body = mockMvc.perform(get("/changes")
+                        .param("since", String.valueOf(since))
+                        .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private List<ChangeEvent> eventsFor(Long productId) {
+        return changeEventRepository.findAll().stream()
+                .filter(event -> event.getEntityType() == ChangeEvent.EntityType.PRODUCT)
+                .filter(event -> event.getEntityId().equals(productId))
+                .toList();
+    }
+
+    private static ProductCreateCommand command(String name) {
+        return ProductCreateCommand.builder()
+                .name(name)
+                .price(new BigDecimal("15.00"))
+                .stock(2)
+                .active(true)
+                .featured(false)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotStockCounterTest {
+
+    @Test
+    void reservarMueveUnidadesDeDisponibleAReservado() {
+        HotStockCounter counter = new HotStockCounter(1, 4, 10);
+
+        assertThat(counter.tryReserve(3)).isTrue();
+
+        assertThat(counter.available()).isEqualTo(7);
+        assertThat(counter.takeReserved()).isEqualTo(3);
+        assertThat(counter.available()).isEqualTo(7);
+        assertThat(counter.takeReserved()).isZero();
+    }
+
+    @Test
+    void unaReservaMayorQueCualquierFranjaJuntaElStockDeTodas() {
+        HotStockCounter counter = new HotStockCounter(1, 4, 10);
+
+        assertThat(counter.tryReserve(10)).isTrue();
+
+        assertThat(counter.available()).isZero();
+        assertThat(counter.tryReserve(1)).isFalse();
+        assertThat(counter.takeReserved()).isEqualTo(10);
+    }
+
+    @Test
+    void unaReservaSinStockSuficienteNoCambiaNada() {
+        HotStockCounter counter = new HotStockCounter(1, 4, 5);
+
+        assertThat(counter.tryReserve(6)).isFalse();
+
+        assertThat(counter.available()).isEqualTo(5);
+        assertThat(counter.takeReserved()).isZero();
+        assertThat(counter.tryReserve(5)).isTrue();
+    }
+
+    @Test
+    void liberarDevuelveLasUnidadesDeUnaReservaNoConfirmada() {
+        HotStockCounter counter = new HotStockCounter(1, 4, 10);
+        counter.tryReserve(4);
+
+        counter.release(4);
+
+        assertThat(counter.available()).isEqualTo(10);
+        assertThat(counter.takeReserved()).isZero();
+    }
+
+    @Test
+    void unVolcadoFallidoDevuelveLasUnidadesALasReservasPendientes() {
+        HotStockCounter counter = new HotStockCounter(1, 4, 10);
+        counter.tryReserve(4);
+        int taken = counter.takeReserved();
+
+        counter.restoreReserved(taken);
+
+        assertThat(counter.available()).isEqualTo(6);
+        assertThat(counter.takeReserved()).isEqualTo(4);
+    }
+
+    @Test
+    void rebaseIncorporaCambiosDeLaBaseDeDatosConservandoLasReservasPendientes() {
+        HotStockCounter counter = new HotStockCounter(1, 4, 10);
+        counter.tryReserve(3);
+        counter.takeReserved();
+        // Volcado aplicado: la base de datos tiene 7
+        assertThat(counter.rebase(7)).isZero();
+
+        counter.tryReserve(2);
+        // PUT /products/{id} subió el stock a 20 antes del siguiente volcado
+        assertThat(counter.rebase(20)).isEqualTo(13);
+
+        assertThat(counter.available()).isEqualTo(18);
+        assertThat(counter.takeReserved()).isEqualTo(2);
+    }
+
+    @Test
+    void unStockNegativoSeTrataComoCero() {
+        HotStockCounter counter = new HotStockCounter(1, 4, -3);
+
+        assertThat(counter.available()).isZero();
+        assertThat(counter.tryReserve(1)).isFalse();
+    }
+
+    @Test
+    void lasReservasConcurrentesNuncaVendenMasQueElStock() throws Exception {
+        int stock = 1000;
+        int threads = 8;
+        HotStockCounter counter = new HotStockCounter(1, 4, stock);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int reserved = 0;
+                    // Cantidades de 1 a 3 para que se agoten franjas y se use el reparto bajo el monitor
+                    for (int attempt = 0; attempt < 2 * stock; attempt++) {
+                        int quantity = attempt % 3 + 1;
+                        if (counter.tryReserve(quantity)) {
+                            reserved += quantity;
+                        } else if (quantity == 1) {
+                            break;
+                        }
+                    }
+                    return reserved;
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Integer> result : results) {
+                reserved += result.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(reserved).isEqualTo(stock);
+            assertThat(counter.available()).isZero();
+            assertThat(counter.takeReserved()).isEqualTo(stock);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
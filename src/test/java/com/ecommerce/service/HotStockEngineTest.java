@@ -0,0 +1,34 @@
+package com.ecommerce.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotStockEngineTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "../otro", "nodo a"})
+    void sinUnNodeIdEstableValidoElMotorNoSeCrea(String nodeId) {
+        assertThatThrownBy(() -> engine(nodeId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ecommerce.stock.hot.node-id");
+    }
+
+    @Test
+    void conUnNodeIdExplicitoElMotorSeCrea() {
+        assertThatCode(() -> engine("stock-a.1")).doesNotThrowAnyException();
+    }
+
+    /**
+     * Solo se valida la configuración: el constructor no usa las dependencias
+     */
+    private static HotStockEngine engine(String nodeId) {
+        return new HotStockEngine(null, null, null, null, null, null, null, null,
+                List.of(1L), 16, "./data/stock-journal", 1024, nodeId);
+    }
+}
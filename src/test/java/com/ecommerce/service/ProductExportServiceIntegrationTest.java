@@ -0,0 +1,77 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exportación en streaming del catálogo activo
+ */
+@SpringBootTest
+class ProductExportServiceIntegrationTest {
+
+    private static final String BRAND = "ExportTimestampsTest";
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void elCsvExportaLaMismaHoraParaFilasDeJpaYFilasImportadas() {
+        productService.createProduct(ProductCreateCommand.builder()
+                .name("Parlante JPA")
+                .price(new BigDecimal("80.00"))
+                .stock(7)
+                .brand(BRAND)
+                .active(true)
+                .build());
+        String ndjson = "{\"name\":\"Parlante importado\",\"price\":80.00,\"stock\":7,\"brand\":\"" + BRAND + "\"}\n";
+        productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), CatalogFileFormat.NDJSON);
+        List<Long> ids = productRepository.searchProductsAfter(
+                ProductSearchCommand.builder().brand(BRAND).build(), null, 10).stream()
+                .map(ProductSearchProjection::getId)
+                .toList();
+        assertThat(ids).hasSize(2);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        productExportService.exportActiveProducts(CatalogFileFormat.CSV, output);
+
+        // id -> [createdAt, updatedAt] de las filas exportadas (las dos últimas columnas)
+        Map<Long, List<String>> exported = new HashMap<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            String[] columns = line.split(",", -1);
+            if (columns.length == 15 && BRAND.equals(columns[6])) {
+                exported.put(Long.valueOf(columns[0]), List.of(columns[13], columns[14]));
+            }
+        }
+        // Mismos valores que lee Hibernate, igual que GET /products/{id}
+        for (Product product : productRepository.findAllById(ids)) {
+            assertThat(exported.get(product.getId())).containsExactly(
+                    product.getCreatedAt().toString(), product.getUpdatedAt().toString());
+        }
+    }
+}
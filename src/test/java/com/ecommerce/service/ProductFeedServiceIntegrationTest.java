@@ -0,0 +1,85 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Snapshot de los feeds: expiración sin eventos locales y total real con max-items
+ * La revisión periódica queda fuera del test (una vez por hora) y se invoca a mano
+ */
+@SpringBootTest(properties = {
+        "ecommerce.feeds.max-items=2",
+        "ecommerce.feeds.max-age-ms=1500",
+        "ecommerce.feeds.rebuild-delay-ms=3600000"
+})
+class ProductFeedServiceIntegrationTest {
+
+    @Autowired
+    private ProductFeedService productFeedService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unCambioSinEventoSeVeCuandoElSnapshotExpira() throws InterruptedException {
+        Long id = createFeatured("Lámpara destacada");
+        productFeedService.rebuildIfStale();
+        assertThat(featuredIds()).contains(id);
+
+        // Como otra instancia o un volcado del stock caliente: sin ProductChangedEvent en esta
+        jdbcTemplate.update("UPDATE products SET featured = false WHERE product_id = ?", id);
+        productFeedService.rebuildIfStale();
+        assertThat(featuredIds()).contains(id);
+
+        Thread.sleep(1600);
+        productFeedService.rebuildIfStale();
+        assertThat(featuredIds()).doesNotContain(id);
+    }
+
+    @Test
+    void elFeedGuardaMaxItemsYConservaElTotalReal() {
+        for (int i = 0; i < 3; i++) {
+            createFeatured("Silla destacada " + i);
+        }
+        productFeedService.rebuild();
+
+        Page<ProductResponse> page = productFeedService.getFeaturedProducts(PageRequest.of(0, 10));
+
+        Long featured = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE featured = true AND active = true", Long.class);
+        assertThat(featured).isGreaterThan(2);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(productFeedService.getFeaturedTotal()).isEqualTo(featured);
+    }
+
+    private Long createFeatured(String name) {
+        return productService.createProduct(ProductCreateCommand.builder()
+                .name(name)
+                .price(new BigDecimal("45.00"))
+                .stock(20)
+                .active(true)
+                .featured(true)
+                .build()).getId();
+    }
+
+    private List<Long> featuredIds() {
+        return productFeedService.getFeaturedProducts(PageRequest.of(0, 10)).getContent().stream()
+                .map(ProductResponse::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,215 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.projection.ProductSearchProjection;
+import com.ecommerce.dto.response.ProductImportResponse;
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importación masiva por JDBC batch
+ */
+@SpringBootTest
+class ProductImportServiceIntegrationTest {
+
+    private static final String BRAND = "ImportTimestampsTest";
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryProductCountResolver categoryProductCountResolver;
+
+    @Test
+    void lasFilasImportadasGuardanLaHoraEnLaZonaDeHibernate() {
+        String ndjson = """
+            {"name":"Mouse importado","price":25.50,"stock":10,"brand":"%s"}
+            {"name":"Monitor importado","price":310.00,"stock":4,"brand":"%s","featured":true}
+            """.formatted(BRAND, BRAND);
+
+        LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        ProductImportResponse response = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), CatalogFileFormat.NDJSON);
+        LocalDateTime after = LocalDateTime.now();
+
+        assertThat(response.getImportedRows()).isEqualTo(2);
+        List<Long> ids = productRepository.searchProductsAfter(
+                ProductSearchCommand.builder().brand(BRAND).build(), null, 10).stream()
+                .map(ProductSearchProjection::getId)
+                .toList();
+        assertThat(ids).hasSize(2);
+        // Leídas por Hibernate, igual que GET /products/{id}
+        for (Product product : productRepository.findAllById(ids)) {
+            assertThat(product.getCreatedAt()).isBetween(before, after);
+            assertThat(product.getUpdatedAt()).isEqualTo(product.getCreatedAt());
+        }
+    }
+
+    @Test
+    void unaFilaRechazadaPorLaBaseDeDatosNoRechazaElRestoDelLote() {
+        String brand = "ImportPartialTest";
+        // weight cumple la validación pero excede NUMERIC(8,3)
+        String ndjson = """
+            {"name":"Teclado importado","price":45.00,"stock":3,"brand":"%s"}
+            {"name":"Pesa importada","price":90.00,"stock":1,"brand":"%s","weight":123456}
+            {"name":"Parlante importado","price":70.00,"stock":2,"brand":"%s"}
+            """.formatted(brand, brand, brand);
+
+        ProductImportResponse response = importNdjson(ndjson);
+
+        assertThat(response.getImportedRows()).isEqualTo(2);
+        assertThat(response.getFailedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getMessage()).startsWith("Fila rechazada por la base de datos");
+        });
+        assertThat(namesOf(brand)).containsExactlyInAnyOrder("Teclado importado", "Parlante importado");
+    }
+
+    @Test
+    void lasFilasConCategoriasInexistentesSeReportanYElRestoSeImporta() {
+        String brand = "ImportMissingCategoryTest";
+        Long categoryId = createCategory("Audio importado");
+        String ndjson = """
+            {"name":"Audífonos importados","price":30.00,"stock":5,"brand":"%s","categoryIds":[%d]}
+            {"name":"Micrófono importado","price":55.00,"stock":2,"brand":"%s","categoryIds":[%d,999999]}
+            """.formatted(brand, categoryId, brand, categoryId);
+
+        ProductImportResponse response = importNdjson(ndjson);
+
+        assertThat(response.getImportedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getMessage()).isEqualTo("Categorías inexistentes: [999999]");
+        });
+        assertThat(namesOf(brand)).containsExactly("Audífonos importados");
+    }
+
+    @Test
+    void losContadoresDeCategoriaSumanSoloLasFilasImportadas() {
+        Long categoryId = createCategory("Fotografía importada");
+        String ndjson = """
+            {"name":"Cámara importada","price":500.00,"stock":1,"categoryIds":[%d]}
+            {"name":"Trípode importado","price":40.00,"stock":1,"categoryIds":[%d],"weight":123456}
+            {"name":"Lente importado","price":250.00,"stock":1,"categoryIds":[%d]}
+            """.formatted(categoryId, categoryId, categoryId);
+
+        ProductImportResponse response = importNdjson(ndjson);
+
+        assertThat(response.getImportedRows()).isEqualTo(2);
+        assertThat(categoryProductCountResolver.countProducts(List.of(categoryId))).containsEntry(categoryId, 2);
+    }
+
+    @Test
+    void losIdsReservadosDeProductsSeqNoChocanConLosDeJpa() {
+        String brand = "ImportIdsTest";
+        importNdjson("""
+            {"name":"Cable importado","price":5.00,"stock":100,"brand":"%s"}
+            """.formatted(brand));
+        Long jpaId = productService.createProduct(ProductCreateCommand.builder()
+                .name("Cable creado")
+                .price(new BigDecimal("6.00"))
+                .stock(50)
+                .brand(brand)
+                .active(true)
+                .build()).getId();
+        importNdjson("""
+            {"name":"Adaptador importado","price":8.00,"stock":100,"brand":"%s"}
+            """.formatted(brand));
+
+        List<Long> ids = productRepository.searchProductsAfter(
+                ProductSearchCommand.builder().brand(brand).build(), null, 10).stream()
+                .map(ProductSearchProjection::getId)
+                .toList();
+        assertThat(ids).hasSize(3).doesNotHaveDuplicates().contains(jpaId);
+    }
+
+    @Test
+    void unaDescripcionCsvEntreComillasConSaltosDeLineaSeImportaEnUnaSolaFila() {
+        String brand = "ImportMultilineCsvTest";
+        String csv = """
+            name,description,price,stock,brand
+            Lámpara importada,"Luz cálida, regulable
+            Incluye ""bombillo"" LED",35.00,7,%s
+            Cable importado,,4.50,20,%s
+            """.formatted(brand, brand);
+
+        ProductImportResponse response = importCsv(csv);
+
+        assertThat(response.getProcessedRows()).isEqualTo(2);
+        assertThat(response.getImportedRows()).isEqualTo(2);
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(namesOf(brand)).containsExactlyInAnyOrder("Lámpara importada", "Cable importado");
+        Long lampId = productRepository.searchProductsAfter(
+                ProductSearchCommand.builder().brand(brand).name("Lámpara").build(), null, 10).get(0).getId();
+        assertThat(productRepository.findById(lampId)).get()
+                .extracting(Product::getDescription)
+                .isEqualTo("Luz cálida, regulable\nIncluye \"bombillo\" LED");
+    }
+
+    @Test
+    void unCampoCsvEntreComillasSinCerrarSeReportaConLaLineaDondeEmpieza() {
+        String brand = "ImportUnclosedQuoteCsvTest";
+        String csv = """
+            name,description,price,stock,brand
+            Reloj importado,Análogo,80.00,2,%s
+            Radio importada,"Sin cierre,15.00,3,%s
+            """.formatted(brand, brand);
+
+        ProductImportResponse response = importCsv(csv);
+
+        assertThat(response.getImportedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(3);
+            assertThat(error.getMessage()).isEqualTo("Fila con formato inválido: campo entre comillas sin cerrar");
+        });
+        assertThat(namesOf(brand)).containsExactly("Reloj importado");
+    }
+
+    private ProductImportResponse importCsv(String csv) {
+        return productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CatalogFileFormat.CSV);
+    }
+
+    private ProductImportResponse importNdjson(String ndjson) {
+        return productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), CatalogFileFormat.NDJSON);
+    }
+
+    private Long createCategory(String name) {
+        return categoryService.createCategory(CategoryCreateCommand.builder()
+                .name(name)
+                .active(true)
+                .build()).getId();
+    }
+
+    private List<String> namesOf(String brand) {
+        return productRepository.searchProductsAfter(
+                ProductSearchCommand.builder().brand(brand).build(), null, 10).stream()
+                .map(ProductSearchProjection::getName)
+                .toList();
+    }
+}
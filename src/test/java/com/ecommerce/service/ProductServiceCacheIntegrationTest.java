@@ -0,0 +1,83 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.CategoryCreateCommand;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.response.CategoryResponse;
+import com.ecommerce.dto.response.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Respuestas de la caché de productos: copias por llamada y productCount vigente
+ */
+@SpringBootTest
+class ProductServiceCacheIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long categoryId;
+
+    private Long productId;
+
+    @BeforeEach
+    void createProduct() {
+        categoryId = categoryService.createCategory(CategoryCreateCommand.builder()
+                .name("Cocina " + System.nanoTime())
+                .active(true)
+                .build()).getId();
+        productId = create("Sartén", categoryId);
+    }
+
+    @Test
+    void cadaLlamadaRecibeSuPropiaCopiaDelProductoCacheado() {
+        ProductResponse first = productService.getProductById(productId);
+        first.setName("Modificado por el llamador");
+        first.getCategories().get(0).setProductCount(999);
+
+        ProductResponse second = productService.getProductById(productId);
+        ProductResponse fromBatch = productService.getProductsByIds(List.of(productId)).getProducts().get(0);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Sartén");
+        assertThat(second.getCategories()).extracting(CategoryResponse::getProductCount).containsExactly(1);
+        assertThat(fromBatch).isNotSameAs(second);
+        assertThat(fromBatch.getName()).isEqualTo("Sartén");
+    }
+
+    @Test
+    void elProductCountDelProductoCacheadoSigueALosCambiosDeLaCategoria() {
+        assertThat(countOf(productService.getProductById(productId))).isEqualTo(1);
+
+        Long other = create("Olla", categoryId);
+        assertThat(countOf(productService.getProductById(productId))).isEqualTo(2);
+        assertThat(countOf(productService.getProductsByIds(List.of(productId)).getProducts().get(0))).isEqualTo(2);
+
+        productService.deleteProduct(other);
+        assertThat(countOf(productService.getProductById(productId))).isEqualTo(1);
+    }
+
+    private Long create(String name, Long category) {
+        return productService.createProduct(ProductCreateCommand.builder()
+                .name(name)
+                .price(new BigDecimal("22.00"))
+                .stock(6)
+                .active(true)
+                .categoryIds(List.of(category))
+                .build()).getId();
+    }
+
+    private static Integer countOf(ProductResponse product) {
+        return product.getCategories().get(0).getProductCount();
+    }
+}
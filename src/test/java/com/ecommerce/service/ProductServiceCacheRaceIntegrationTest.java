@@ -0,0 +1,89 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.response.ProductResponse;
+import com.ecommerce.entity.Product;
+import com.ecommerce.mapper.ProductMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Una lectura de la caché de productos que empezó antes del commit de una escritura
+ * no vuelve a guardar la fila anterior después de la invalidación
+ */
+@SpringBootTest
+class ProductServiceCacheRaceIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private ProductMapper productMapper;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void laCargaQueLeyoAntesDeUnaActualizacionNoDejaLaFilaAnteriorEnCache() throws Exception {
+        Long id = productService.createProduct(command("Tetera")).getId();
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).evict(id);
+
+        // La primera conversión del producto (la de la lectura) se detiene con la fila ya leída
+        AtomicBoolean pauseNext = new AtomicBoolean(true);
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Object response = invocation.callRealMethod();
+            if (id.equals(((Product) invocation.getArgument(0)).getId()) && pauseNext.compareAndSet(true, false)) {
+                read.countDown();
+                resume.await(30, TimeUnit.SECONDS);
+            }
+            return response;
+        }).when(productMapper).toResponse(any(Product.class));
+
+        Future<ProductResponse> reader = executor.submit(() -> productService.getProductById(id));
+        assertThat(read.await(30, TimeUnit.SECONDS)).isTrue();
+
+        ProductResponse updated = productService.updateProduct(id, command("Tetera de hierro"));
+        resume.countDown();
+
+        assertThat(reader.get(30, TimeUnit.SECONDS).getName()).isEqualTo("Tetera");
+        ProductResponse afterRace = productService.getProductById(id);
+        assertThat(afterRace.getName()).isEqualTo("Tetera de hierro");
+        assertThat(afterRace.getVersion()).isEqualTo(updated.getVersion());
+    }
+
+    private static ProductCreateCommand command(String name) {
+        return ProductCreateCommand.builder()
+                .name(name)
+                .price(new BigDecimal("38.00"))
+                .stock(4)
+                .active(true)
+                .featured(false)
+                .build();
+    }
+}
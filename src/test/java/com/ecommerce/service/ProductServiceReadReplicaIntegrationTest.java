@@ -0,0 +1,93 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductField;
+import com.ecommerce.dto.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lecturas de ProductService con el perfil read-replicas y una réplica H2 atrasada
+ * La réplica recibe una copia de la primaria (SCRIPT) y no ve las escrituras posteriores
+ */
+@SpringBootTest(properties = {
+        "ecommerce.datasource.read-replicas.urls=" + ProductServiceReadReplicaIntegrationTest.REPLICA_URL,
+        "ecommerce.datasource.read-replicas.lag-query="
+})
+@ActiveProfiles({"test", "read-replicas"})
+class ProductServiceReadReplicaIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:read-replica-lagging;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductFeedService productFeedService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Test
+    void lasRecargasTrasUnaEscrituraLeenLaPrimariaYNoLaReplicaAtrasada() {
+        Long id = productService.createProduct(command("Lámpara original")).getId();
+        productService.getProductById(id);
+        copyPrimaryToReplica();
+
+        productService.updateProduct(id, command("Lámpara editada"));
+
+        // Las lecturas de solo lectura van a la réplica, que sigue con el nombre anterior
+        assertThat(productService.getProductFieldsById(id, EnumSet.of(ProductField.ID, ProductField.NAME)))
+                .containsEntry("name", "Lámpara original");
+        // La escritura invalidó la caché y la recarga se hace en la primaria
+        assertThat(productService.getProductById(id).getName()).isEqualTo("Lámpara editada");
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).evict(id);
+        assertThat(productService.getProductsByIds(List.of(id)).getProducts())
+                .extracting(ProductResponse::getName)
+                .containsExactly("Lámpara editada");
+        // El snapshot de feeds que sigue a la escritura también
+        productFeedService.rebuild();
+        assertThat(productFeedService.getFeaturedProducts(PageRequest.of(0, 500)).getContent())
+                .filteredOn(product -> product.getId().equals(id))
+                .extracting(ProductResponse::getName)
+                .containsExactly("Lámpara editada");
+    }
+
+    /**
+     * Reemplaza el contenido de la réplica por una copia de la primaria
+     */
+    private void copyPrimaryToReplica() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+        replica.execute("DROP ALL OBJECTS");
+        new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class).forEach(replica::execute);
+    }
+
+    private static ProductCreateCommand command(String name) {
+        return ProductCreateCommand.builder()
+                .name(name)
+                .price(new BigDecimal("35.00"))
+                .stock(12)
+                .active(true)
+                .featured(true)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.config.MetricsConfig;
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.command.ProductSearchCommand;
+import com.ecommerce.dto.response.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lecturas de ProductService agrupadas con single-flight contra la base de datos real
+ * Cuántas llamadas se agrupan depende del scheduling; se verifica que ninguna se pierda ni cambie el resultado
+ */
+@SpringBootTest
+class ProductServiceSingleFlightIntegrationTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lasLecturasSimultaneasDeUnProductoRecibenElMismoResultado() throws Exception {
+        Long id = productService.createProduct(ProductCreateCommand.builder()
+                .name("Audífonos single-flight")
+                .price(new BigDecimal("45.00"))
+                .stock(9)
+                .active(true)
+                .build()).getId();
+        evict(id);
+        double before = calls("product-by-id");
+
+        List<Future<ProductResponse>> results = callConcurrently(() -> productService.getProductById(id));
+
+        for (Future<ProductResponse> result : results) {
+            ProductResponse product = result.get(30, TimeUnit.SECONDS);
+            assertThat(product.getId()).isEqualTo(id);
+            assertThat(product.getName()).isEqualTo("Audífonos single-flight");
+        }
+        // Las llamadas que empiezan después de la primera carga salen de la caché sin pasar por single-flight
+        assertThat(calls("product-by-id") - before).isBetween(1.0, (double) CALLERS);
+        assertThat(count("product-by-id", "executed")).isPositive();
+    }
+
+    @Test
+    void elErrorDeUnProductoInexistenteLlegaATodasLasLlamadasYLaClaveSeLibera() throws Exception {
+        Long missing = Long.MAX_VALUE;
+        evict(missing);
+        double executedBefore = count("product-by-id", "executed");
+
+        List<Future<ProductResponse>> results = callConcurrently(() -> productService.getProductById(missing));
+
+        for (Future<ProductResponse> result : results) {
+            assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .hasMessage("Producto no encontrado con ID: " + missing);
+        }
+        // Terminada la carga, la siguiente llamada vuelve a la base de datos
+        double executedAfterBurst = count("product-by-id", "executed");
+        assertThat(executedAfterBurst).isGreaterThan(executedBefore);
+        assertThatThrownBy(() -> productService.getProductById(missing))
+                .hasMessage("Producto no encontrado con ID: " + missing);
+        assertThat(count("product-by-id", "executed")).isEqualTo(executedAfterBurst + 1);
+    }
+
+    @Test
+    void lasBusquedasSimultaneasIdenticasDevuelvenLaMismaPagina() throws Exception {
+        ProductSearchCommand command = ProductSearchCommand.builder().minPrice(BigDecimal.ONE).build();
+        Page<?> expected = productService.searchProducts(command, PageRequest.of(0, 5));
+        double before = calls("search");
+
+        List<Future<Page<?>>> results = callConcurrently(() -> productService.searchProducts(command, PageRequest.of(0, 5)));
+
+        for (Future<Page<?>> result : results) {
+            Page<?> page = result.get(30, TimeUnit.SECONDS);
+            assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements());
+            assertThat(page.getNumberOfElements()).isEqualTo(expected.getNumberOfElements());
+        }
+        assertThat(calls("search") - before).isEqualTo(CALLERS);
+    }
+
+    private <T> List<Future<T>> callConcurrently(Callable<T> call) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    private void evict(Long id) {
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).evict(id);
+    }
+
+    private double calls(String operation) {
+        return count(operation, "executed") + count(operation, "coalesced");
+    }
+
+    private double count(String operation, String result) {
+        return meterRegistry.get(MetricsConfig.SINGLE_FLIGHT_CALLS)
+                .tag("operation", operation)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
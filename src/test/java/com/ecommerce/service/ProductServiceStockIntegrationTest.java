@@ -0,0 +1,94 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.command.ProductCreateCommand;
+import com.ecommerce.dto.response.StockDecrementResponse;
+import com.ecommerce.entity.ChangeEvent;
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ChangeEventRepository;
+import com.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Descuento de stock con un único UPDATE que devuelve el stock restante
+ */
+@SpringBootTest
+class ProductServiceStockIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Test
+    void elDescuentoDevuelveElStockRestanteEIncrementaLaVersion() {
+        Long id = create(5);
+        Product before = productRepository.findById(id).orElseThrow();
+
+        StockDecrementResponse response = productService.decrementStock(id, 3);
+
+        assertThat(response.getProductId()).isEqualTo(id);
+        assertThat(response.getQuantity()).isEqualTo(3);
+        assertThat(response.getRemainingStock()).isEqualTo(2);
+        Product after = productRepository.findById(id).orElseThrow();
+        assertThat(after.getStock()).isEqualTo(2);
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(after.getUpdatedAt()).isAfterOrEqualTo(before.getUpdatedAt());
+        assertThat(eventsFor(id)).hasSize(2);
+    }
+
+    @Test
+    void sinStockSuficienteRespondeConflictoSinModificarElProducto() {
+        Long id = create(2);
+
+        assertThatThrownBy(() -> productService.decrementStock(id, 3))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(e.getReason()).contains("disponible 2, solicitado 3");
+                });
+        assertThat(productRepository.findById(id).orElseThrow().getStock()).isEqualTo(2);
+        assertThat(eventsFor(id)).hasSize(1);
+    }
+
+    @Test
+    void unProductoInexistenteOInactivoRespondeNoEncontrado() {
+        Long deleted = create(4);
+        productService.deleteProduct(deleted);
+
+        for (Long id : List.of(deleted, Long.MAX_VALUE)) {
+            assertThatThrownBy(() -> productService.decrementStock(id, 1))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        }
+        assertThat(productRepository.findById(deleted).orElseThrow().getStock()).isEqualTo(4);
+    }
+
+    private Long create(int stock) {
+        return productService.createProduct(ProductCreateCommand.builder()
+                .name("Batería")
+                .price(new BigDecimal("35.00"))
+                .stock(stock)
+                .active(true)
+                .build()).getId();
+    }
+
+    private List<ChangeEvent> eventsFor(Long productId) {
+        return changeEventRepository.findAll().stream()
+                .filter(event -> event.getEntityType() == ChangeEvent.EntityType.PRODUCT)
+                .filter(event -> event.getEntityId().equals(productId))
+                .toList();
+    }
+}
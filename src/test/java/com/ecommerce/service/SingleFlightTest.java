@@ -0,0 +1,157 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.MetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Agrupación de cargas concurrentes por clave, con una carga retenida por latch
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lasLlamadasConcurrentesIdenticasEjecutanUnaSolaCarga() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "producto 1";
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("producto 1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void laExcepcionDeLaCargaLlegaATodasLasLlamadasEnEspera() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("Producto no encontrado con ID: 1");
+
+        List<Future<String>> results = callConcurrently(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isSameAs(failure);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void alTerminarLaClaveSeLiberaYLaSiguienteLlamadaVuelveACargar() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(singleFlight.execute(1L, () -> "carga " + loads.incrementAndGet())).isEqualTo("carga 1");
+        assertThat(singleFlight.execute(1L, () -> "carga " + loads.incrementAndGet())).isEqualTo("carga 2");
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("fallo");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.execute(1L, () -> "carga " + loads.incrementAndGet())).isEqualTo("carga 4");
+
+        assertThat(count("executed")).isEqualTo(4);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void lasClavesDistintasNoSeAgrupan() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch bothLoading = new CountDownLatch(2);
+
+        Future<String> first = executor.submit(() -> singleFlight.execute(1L, () -> {
+            bothLoading.countDown();
+            await(release);
+            return "producto 1";
+        }));
+        Future<String> second = executor.submit(() -> singleFlight.execute(2L, () -> {
+            bothLoading.countDown();
+            await(release);
+            return "producto 2";
+        }));
+        // Las dos cargas están en curso a la vez
+        assertThat(bothLoading.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("producto 1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("producto 2");
+        assertThat(count("executed")).isEqualTo(2);
+    }
+
+    private List<Future<String>> callConcurrently(Long key, Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(key, loader)));
+        }
+        return results;
+    }
+
+    /**
+     * Espera a que las demás llamadas se hayan unido a la carga en curso
+     */
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count("coalesced")).isEqualTo(expected);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(MetricsConfig.SINGLE_FLIGHT_CALLS)
+                .tag("operation", "test")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
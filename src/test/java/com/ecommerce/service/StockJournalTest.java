@@ -0,0 +1,203 @@
+package com.ecommerce.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sinArchivoNoHayReservasPendientes() throws IOException {
+        StockJournal.Recovery recovery = StockJournal.recover(directory.resolve("stock.journal"), 0);
+
+        assertThat(recovery.pending()).isEmpty();
+        assertThat(recovery.lastFlushId()).isZero();
+    }
+
+    @Test
+    void lasReservasSinVolcarSeRecuperanComoNetoPorProducto() throws IOException {
+        Path file = journal(
+                StockJournal.reservation(1, 2),
+                StockJournal.reservation(2, 5),
+                StockJournal.reservation(1, 3));
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 0);
+
+        assertThat(recovery.pending()).isEqualTo(Map.of(1L, 5L, 2L, 5L));
+        assertThat(recovery.lastFlushId()).isZero();
+    }
+
+    @Test
+    void unVolcadoConfirmadoDescuentaSusDeltas() throws IOException {
+        Path file = journal(
+                StockJournal.reservation(1, 4),
+                StockJournal.reservation(2, 1),
+                StockJournal.flushIntent(1, 1, 4),
+                StockJournal.flushIntent(1, 2, 1),
+                StockJournal.flushCommit(1),
+                StockJournal.reservation(1, 2));
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 0);
+
+        assertThat(recovery.pending()).isEqualTo(Map.of(1L, 2L));
+        assertThat(recovery.lastFlushId()).isEqualTo(1);
+    }
+
+    @Test
+    void unVolcadoAbortadoDejaLasReservasPendientes() throws IOException {
+        Path file = journal(
+                StockJournal.reservation(1, 4),
+                StockJournal.flushIntent(1, 1, 4),
+                StockJournal.flushAbort(1));
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 1);
+
+        assertThat(recovery.pending()).isEqualTo(Map.of(1L, 4L));
+        assertThat(recovery.lastFlushId()).isEqualTo(1);
+    }
+
+    @Test
+    void unVolcadoSinConfirmarSeDaPorAplicadoSiElCheckpointLoIncluye() throws IOException {
+        Path file = journal(
+                StockJournal.reservation(1, 4),
+                StockJournal.reservation(2, 3),
+                StockJournal.flushIntent(7, 1, 4),
+                StockJournal.flushIntent(7, 2, 3));
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 7);
+
+        assertThat(recovery.pending()).isEmpty();
+        assertThat(recovery.lastFlushId()).isEqualTo(7);
+    }
+
+    @Test
+    void unVolcadoSinConfirmarPosteriorAlCheckpointNoSeAplico() throws IOException {
+        Path file = journal(
+                StockJournal.reservation(1, 4),
+                StockJournal.flushIntent(8, 1, 4));
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 7);
+
+        assertThat(recovery.pending()).isEqualTo(Map.of(1L, 4L));
+        assertThat(recovery.lastFlushId()).isEqualTo(8);
+    }
+
+    @Test
+    void unaLineaIncompletaAlFinalSeIgnora() throws IOException {
+        Path file = directory.resolve("stock.journal");
+        Files.writeString(file, "R 1 2\nR 2 3\nR 1 9", StandardCharsets.UTF_8);
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 0);
+
+        assertThat(recovery.pending()).isEqualTo(Map.of(1L, 2L, 2L, 3L));
+    }
+
+    @Test
+    void losRegistrosInvalidosSeIgnoran() throws IOException {
+        Path file = journal("R 1 2", "R uno 3", "X 4", "C", "R 2 1");
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 0);
+
+        assertThat(recovery.pending()).isEqualTo(Map.of(1L, 2L, 2L, 1L));
+    }
+
+    @Test
+    void laRecuperacionReescribeElJournalReducidoYEsIdempotente() throws IOException {
+        Path file = journal(
+                StockJournal.reservation(1, 4),
+                StockJournal.reservation(1, 1),
+                StockJournal.flushIntent(3, 1, 4),
+                StockJournal.flushCommit(3),
+                StockJournal.reservation(2, 6),
+                StockJournal.flushIntent(4, 2, 6));
+
+        StockJournal.Recovery first = StockJournal.recover(file, 3);
+        List<String> rewritten = Files.readAllLines(file, StandardCharsets.UTF_8);
+        StockJournal.Recovery second = StockJournal.recover(file, 3);
+
+        assertThat(first.pending()).isEqualTo(Map.of(1L, 1L, 2L, 6L));
+        assertThat(rewritten).containsExactly("R 1 1", "R 2 6");
+        assertThat(second.pending()).isEqualTo(first.pending());
+    }
+
+    @Test
+    void losRegistrosConfirmadosSonDurablesAlCerrar() throws Exception {
+        Path file = directory.resolve("stock.journal");
+        try (StockJournal journal = new StockJournal(file, Long.MAX_VALUE)) {
+            await(journal.append(StockJournal.reservation(1, 2)));
+            await(journal.append(StockJournal.reservation(1, 3)));
+            await(journal.append(StockJournal.flushIntent(1, 1, 5)));
+            await(journal.append(StockJournal.flushCommit(1)));
+            await(journal.append(StockJournal.reservation(2, 4)));
+        }
+
+        StockJournal.Recovery recovery = StockJournal.recover(file, 1);
+
+        assertThat(recovery.pending()).isEqualTo(Map.of(2L, 4L));
+        assertThat(recovery.lastFlushId()).isEqualTo(1);
+    }
+
+    @Test
+    void laCompactacionConservaElNetoYLosVolcadosEnCurso() throws Exception {
+        Path file = directory.resolve("stock.journal");
+        try (StockJournal journal = new StockJournal(file, 256)) {
+            for (int flushId = 1; flushId <= 50; flushId++) {
+                await(journal.append(StockJournal.reservation(1, 2)));
+                await(journal.append(StockJournal.flushIntent(flushId, 1, 2)));
+                await(journal.append(StockJournal.flushCommit(flushId)));
+            }
+            await(journal.append(StockJournal.reservation(1, 3)));
+            await(journal.append(StockJournal.reservation(2, 5)));
+            // Volcado 51 en curso: la compactación debe conservar su intención
+            await(journal.append(StockJournal.flushIntent(51, 2, 5)));
+            for (int i = 0; i < 30; i++) {
+                await(journal.append(StockJournal.reservation(3, 1)));
+                await(journal.append(StockJournal.reservation(3, -1)));
+            }
+        }
+
+        assertThat(Files.size(file)).isLessThanOrEqualTo(256);
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).contains("F 51 2 5");
+        // recover reescribe el archivo: cada checkpoint se prueba sobre una copia
+        Path applied = Files.copy(file, directory.resolve("applied.journal"));
+        assertThat(StockJournal.recover(file, 50).pending()).isEqualTo(Map.of(1L, 3L, 2L, 5L));
+        assertThat(StockJournal.recover(applied, 51).pending()).isEqualTo(Map.of(1L, 3L));
+    }
+
+    @Test
+    void unJournalCerradoRechazaNuevosRegistros() throws IOException {
+        StockJournal journal = new StockJournal(directory.resolve("stock.journal"), Long.MAX_VALUE);
+        journal.close();
+
+        CompletableFuture<Void> written = journal.append(StockJournal.reservation(1, 1));
+
+        assertThatThrownBy(() -> await(written))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private Path journal(String... records) throws IOException {
+        Path file = directory.resolve("stock.journal");
+        Files.writeString(file, String.join("\n", records) + "\n", StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static void await(CompletableFuture<Void> written) throws Exception {
+        written.get(5, TimeUnit.SECONDS);
+    }
+}